@@ -0,0 +1,576 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark suite for the algorithms in this repository, run from a plain main.
+ *
+ * Every benchmark runs on seeded synthetic graphs of four families at sizes
+ * 10^3, 10^4, ... up to --max vertices:
+ * - random:   m = 8n uniformly random edges;
+ * - grid:     sqrt(n) x sqrt(n) lattice (also used as the raster for flood fill);
+ * - powerlaw: preferential attachment, 8 edges per new vertex;
+ * - complete: all pairs, capped at COMPLETE_MAX vertices.
+ * Weights are uniform in [1, 100].
+ *
+ * Measurement, per benchmark and input:
+ * - warm-up: the operation runs repeatedly for --warmup seconds;
+ * - measurement: it runs repeatedly for --time seconds, reporting ops/s and ms/op;
+ * - allocation: bytes allocated per op, summed over all live threads through
+ *   com.sun.management.ThreadMXBean (so pool workers of parallel algorithms count);
+ * - GC: collections and collection time during the measurement.
+ *
+ * --out writes the rows as CSV, and --baseline compares ops/s against such a
+ * file, so a run can be checked against an earlier one.
+ *
+ * The suite runs on a thread with a 1 GB stack, so the recursive originals
+ * (kosaraju, floodFill) can be measured on larger inputs. Benchmarks of
+ * methods that print have System.out muted while they run.
+ *
+ * Usage: java BenchmarkSuite [--max N] [--time s] [--warmup s] [--filter text]
+ *                            [--out results.csv] [--baseline old.csv]
+ *
+ * The same registry also runs under JMH (build.gradle, src/jmh), with forks,
+ * warm-up and measurement iterations, a family and size @Param, and the gc
+ * profiler:
+ *   gradle jmh -PjmhArgs="dijkstra -p family=grid -p size=10000"
+ */
+public class BenchmarkSuite {
+    static final int COMPLETE_MAX = 2048;
+    static final int DEGREE = 8;
+    static final long SEED = 42L;
+
+    // Last operation result, so the JIT cannot drop the work
+    static volatile Object sink;
+
+    // Input shared by all benchmarks of one family and size
+    static class Workload {
+        final String family;
+        final int n;
+        final int[] src, dest, wt; // One entry per edge
+        final CSRGraph directed, undirected;
+        final int side;            // Raster side for the grid family, 0 otherwise
+
+        Workload(String family, int n, int[] src, int[] dest, int[] wt, int side) {
+            this.family = family;
+            this.n = n;
+            this.src = src;
+            this.dest = dest;
+            this.wt = wt;
+            this.side = side;
+            this.directed = CSRGraph.fromEdges(n, src, dest, wt);
+            this.undirected = CSRGraph.fromUndirectedEdges(n, src, dest, wt);
+        }
+    }
+
+    /**
+     * One benchmark. setup prepares whatever the operation needs outside the
+     * timed region and returns the operation, or null if the workload does not
+     * apply (wrong family, too large). The operation returns its result.
+     */
+    static class Benchmark {
+        final String name;
+        final boolean quiet; // Mute System.out while measuring
+        final Function<Workload, Supplier<?>> setup;
+
+        Benchmark(String name, boolean quiet, Function<Workload, Supplier<?>> setup) {
+            this.name = name;
+            this.quiet = quiet;
+            this.setup = setup;
+        }
+    }
+
+    // Outcome of one measurement
+    static class Measurement {
+        long ops;
+        long nanos;
+        long allocatedBytes;
+        long gcCount, gcMillis;
+
+        double opsPerSecond() {
+            return ops * 1e9 / nanos;
+        }
+
+        double msPerOp() {
+            return nanos / 1e6 / ops;
+        }
+
+        long bytesPerOp() {
+            return allocatedBytes / ops;
+        }
+    }
+
+    static List<Benchmark> benchmarks() {
+        List<Benchmark> list = new ArrayList<>();
+
+        // Shortest paths
+        list.add(new Benchmark("cheapestFlight", false, w ->
+                () -> CheapestFlights.cheapestFlight(w.directed, 0, w.n - 1, 8)));
+        list.add(new Benchmark("cheapestFlight-engine", false, w -> {
+            CheapestFlightEngine engine = new CheapestFlightEngine(w.directed);
+            return () -> engine.cheapestFlight(0, w.n - 1, 8);
+        }));
+        list.add(new Benchmark("cheapestFlight-legacy", false, w -> {
+            if (w.n > 100_000) {
+                return null;
+            }
+            int[][] flights = rows(w);
+            return () -> CheapestFlights.cheapestFlight(w.n, flights, 0, w.n - 1, 8);
+        }));
+        list.add(new Benchmark("bellmanFord", false, w -> (w.n > 10_000) ? null
+                : () -> ShortestPath.bellmanFord(w.directed, 0))); // V - 1 full passes
+        list.add(new Benchmark("bellmanFord-earlyExit", false, w ->
+                () -> ParallelBellmanFord.bellmanFord(w.directed, 0)));
+        list.add(new Benchmark("spfa", false, w ->
+                () -> ShortestPathFasterAlgorithm.spfa(w.directed, 0)));
+        list.add(new Benchmark("dijkstra", false, w ->
+                () -> DeltaStepping.dijkstra(w.directed, 0)));
+        list.add(new Benchmark("deltaStepping", false, w ->
+                () -> DeltaStepping.shortestPaths(w.directed, 0)));
+
+        // Minimum spanning trees. KruskalAlgorithm.kruskalMST keeps its union-find in static
+        // arrays fixed at four vertices, so ParallelKruskal.kruskal (sorted keys + UnionFind) stands in for it
+        list.add(new Benchmark("kruskal-unionFind", false, w ->
+                () -> ParallelKruskal.kruskal(w.n, w.src, w.dest, w.wt)));
+        list.add(new Benchmark("kruskal-filter", false, w ->
+                () -> ParallelKruskal.filterKruskal(w.n, w.src, w.dest, w.wt)));
+        list.add(new Benchmark("boruvka", false, w ->
+                () -> ParallelBoruvka.boruvka(w.n, w.src, w.dest, w.wt)));
+        list.add(new Benchmark("prims", false, w ->
+                () -> MinimumSpanningTree.prims(w.undirected)));
+        list.add(new Benchmark("prims-indexed", false, w ->
+                () -> MinimumSpanningTree.primsIndexed(w.undirected)));
+        list.add(new Benchmark("connectCities", false, w -> {
+            if (!w.family.equals("complete")) {
+                return null; // Takes an adjacency matrix
+            }
+            int[][] matrix = matrix(w);
+            return () -> ConnectingCities.connectCities(matrix);
+        }));
+        list.add(new Benchmark("connectCities-auto", false, w -> {
+            if (!w.family.equals("complete")) {
+                return null;
+            }
+            int[][] matrix = matrix(w);
+            return () -> ConnectingCities.connectCitiesAuto(matrix);
+        }));
+
+        // Strongly connected components
+        list.add(new Benchmark("kosaraju", true, w -> (w.n > 100_000) ? null
+                : () -> {
+                    StronglyConnectedComponent.kosaraju(w.directed); // Prints the components
+                    return null;
+                }));
+        list.add(new Benchmark("tarjan", false, w ->
+                () -> TarjanSCC.components(w.directed)));
+        list.add(new Benchmark("scc-parallel", false, w ->
+                () -> ParallelSCC.components(w.directed)));
+
+        // Flood fill on the grid family, one pixel per vertex; each op includes copying the raster
+        list.add(new Benchmark("floodFill", false, w -> {
+            if (w.side == 0 || w.n > 1_000_000) {
+                return null;
+            }
+            int[] source = raster(w.side);
+            int[][] image = new int[w.side][w.side];
+            FloodFillAlgorithm algo = new FloodFillAlgorithm();
+            return () -> {
+                for (int r = 0; r < w.side; r++) {
+                    System.arraycopy(source, r * w.side, image[r], 0, w.side);
+                }
+                return algo.floodFill(image, 0, 0, 2);
+            };
+        }));
+        list.add(new Benchmark("floodFill-scanline", false, w -> {
+            if (w.side == 0) {
+                return null;
+            }
+            int[] source = raster(w.side);
+            int[] image = new int[source.length];
+            return () -> {
+                System.arraycopy(source, 0, image, 0, source.length);
+                return ScanlineFloodFill.fill(image, w.side, w.side, 0, 0, 2, false);
+            };
+        }));
+        list.add(new Benchmark("rasterLabeling", false, w -> {
+            if (w.side == 0) {
+                return null;
+            }
+            int[] source = raster(w.side);
+            return () -> RasterLabeling.label(source, w.side, w.side, false);
+        }));
+        list.add(new Benchmark("rasterLabeling-8", false, w -> {
+            if (w.side == 0) {
+                return null;
+            }
+            int[] source = raster(w.side);
+            return () -> RasterLabeling.label(source, w.side, w.side, true);
+        }));
+        list.add(new Benchmark("rasterLabeling-oneBand", false, w -> {
+            if (w.side == 0) {
+                return null;
+            }
+            int[] source = raster(w.side);
+            return () -> RasterLabeling.label(source, w.side, w.side, false, 1); // Sequential baseline
+        }));
+
+        // Disjoint sets: one union per edge followed by one find per vertex
+        list.add(new Benchmark("disjointSet-unionFind", false, w -> () -> {
+            UnionFind uf = new UnionFind(w.n);
+            for (int i = 0; i < w.src.length; i++) {
+                uf.union(w.src[i], w.dest[i]);
+            }
+            for (int v = 0; v < w.n; v++) {
+                uf.find(v);
+            }
+            return uf;
+        }));
+        list.add(new Benchmark("disjointSet-concurrent", false, w -> () -> {
+            ConcurrentDisjointSet ds = new ConcurrentDisjointSet(w.n);
+            java.util.stream.IntStream.range(0, w.src.length).parallel()
+                    .forEach(i -> ds.union(w.src[i], w.dest[i]));
+            for (int v = 0; v < w.n; v++) {
+                ds.find(v);
+            }
+            return ds;
+        }));
+
+        // Edge list loading: the workload's edges are written to a temp file once, then parsed into CSR
+        list.add(new Benchmark("edgeListLoad-binary", false, w -> {
+            Path file = edgeFile(w, ".bin");
+            return () -> load(file, EdgeListLoader.binary(true), w.n);
+        }));
+        list.add(new Benchmark("edgeListLoad-csv", false, w -> {
+            Path file = edgeFile(w, ".csv");
+            return () -> load(file, EdgeListLoader.csv(true), w.n);
+        }));
+        return list;
+    }
+
+    static CSRGraph load(Path file, EdgeListLoader.Format format, int n) {
+        try {
+            return EdgeListLoader.load(file, format, n, false, ForkJoinPool.commonPool());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Temp file holding the workload's edges, binary or CSV by suffix; deleted on exit
+    static Path edgeFile(Workload w, String suffix) {
+        try {
+            Path file = Files.createTempFile("edges-" + w.family + "-" + w.n, suffix);
+            file.toFile().deleteOnExit();
+            if (suffix.equals(".bin")) {
+                EdgeListLoader.writeBinary(file, w.src, w.dest, w.wt);
+            } else {
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+                    for (int i = 0; i < w.src.length; i++) {
+                        out.write(w.src[i] + "," + w.dest[i] + "," + w.wt[i] + "\n");
+                    }
+                }
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Names of all benchmarks, in registry order
+    public static List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (Benchmark b : benchmarks()) {
+            names.add(b.name);
+        }
+        return names;
+    }
+
+    /**
+     * Prepares the named benchmark on a fresh workload, for the JMH harness
+     * (src/jmh), which cannot see this package.
+     *
+     * @return The operation, or null if the benchmark does not apply to the family and size.
+     */
+    public static Supplier<?> prepare(String name, String family, int n) {
+        Workload w = workload(family, n);
+        return (w == null) ? null : find(name).setup.apply(w);
+    }
+
+    // Whether the named benchmark prints and needs System.out muted
+    public static boolean quiet(String name) {
+        return find(name).quiet;
+    }
+
+    private static Benchmark find(String name) {
+        for (Benchmark b : benchmarks()) {
+            if (b.name.equals(name)) {
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("Unknown benchmark: " + name);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option, got " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[i + 1]);
+        }
+        Throwable[] failure = new Throwable[1];
+        Thread runner = new Thread(null, () -> {
+            try {
+                run(opts);
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "benchmark", 1L << 30);
+        runner.start();
+        runner.join();
+        if (failure[0] != null) {
+            throw new RuntimeException(failure[0]);
+        }
+    }
+
+    static void run(Map<String, String> opts) throws IOException {
+        int max = Integer.parseInt(opts.getOrDefault("max", "100000"));
+        long measureNanos = (long) (Double.parseDouble(opts.getOrDefault("time", "1")) * 1e9);
+        long warmupNanos = (long) (Double.parseDouble(opts.getOrDefault("warmup", "0.5")) * 1e9);
+        String filter = opts.get("filter");
+        Map<String, Double> baseline = opts.containsKey("baseline")
+                ? readBaseline(Paths.get(opts.get("baseline"))) : null;
+
+        List<String> csv = new ArrayList<>();
+        csv.add("benchmark,family,vertices,edges,ops_per_s,ms_per_op,bytes_per_op,gc_count,gc_ms");
+        System.out.printf("%-24s %-9s %10s %11s %12s %12s %14s %5s %s%n", "benchmark", "family",
+                "vertices", "edges", "ops/s", "ms/op", "bytes/op", "gc", (baseline != null) ? "vs baseline" : "");
+
+        List<Benchmark> benchmarks = benchmarks();
+        for (int n = 1000; n <= max; n *= 10) {
+            for (String family : new String[] {"random", "grid", "powerlaw", "complete"}) {
+                Workload w = workload(family, n);
+                if (w == null) {
+                    continue;
+                }
+                for (Benchmark b : benchmarks) {
+                    if (filter != null && !b.name.contains(filter)) {
+                        continue;
+                    }
+                    Supplier<?> op = b.setup.apply(w);
+                    if (op == null) {
+                        continue;
+                    }
+                    Measurement m = measure(op, warmupNanos, measureNanos, b.quiet);
+                    String key = b.name + "," + w.family + "," + w.n;
+                    String ratio = "";
+                    if (baseline != null && baseline.containsKey(key)) {
+                        ratio = String.format("%.2fx", m.opsPerSecond() / baseline.get(key));
+                    }
+                    System.out.printf("%-24s %-9s %10d %11d %12.1f %12.3f %14d %5d %s%n", b.name, w.family,
+                            w.n, w.src.length, m.opsPerSecond(), m.msPerOp(), m.bytesPerOp(), m.gcCount, ratio);
+                    csv.add(String.format("%s,%d,%.3f,%.6f,%d,%d,%d", key, w.src.length,
+                            m.opsPerSecond(), m.msPerOp(), m.bytesPerOp(), m.gcCount, m.gcMillis));
+                }
+            }
+        }
+        if (opts.containsKey("out")) {
+            Files.write(Paths.get(opts.get("out")), csv);
+        }
+    }
+
+    /**
+     * Runs op for the warm-up period, then for the measurement period, and
+     * records time, allocation and GC activity of the measurement period only.
+     */
+    static Measurement measure(Supplier<?> op, long warmupNanos, long measureNanos, boolean quiet) {
+        PrintStream out = System.out;
+        if (quiet) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        try {
+            long end = System.nanoTime() + warmupNanos;
+            do {
+                sink = op.get();
+            } while (System.nanoTime() < end);
+
+            Measurement m = new Measurement();
+            long allocated = allocatedBytes();
+            long[] gc = gcTotals();
+            long start = System.nanoTime();
+            do {
+                sink = op.get();
+                m.ops++;
+                m.nanos = System.nanoTime() - start;
+            } while (m.nanos < measureNanos);
+            m.allocatedBytes = allocatedBytes() - allocated;
+            long[] gcAfter = gcTotals();
+            m.gcCount = gcAfter[0] - gc[0];
+            m.gcMillis = gcAfter[1] - gc[1];
+            return m;
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    // Bytes allocated so far by all live threads
+    static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes; // -1 for threads that ended in the meantime
+            }
+        }
+        return total;
+    }
+
+    // {collections, collection time in ms} summed over all collectors
+    static long[] gcTotals() {
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+
+    // Reads ops/s per "benchmark,family,vertices" key from an earlier --out file
+    static Map<String, Double> readBaseline(Path file) throws IOException {
+        Map<String, Double> map = new HashMap<>();
+        List<String> lines = Files.readAllLines(file);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] f = line.split(",");
+            map.put(f[0] + "," + f[1] + "," + f[2], Double.parseDouble(f[4]));
+        }
+        return map;
+    }
+
+    // Seeded graph of the given family with about n vertices (null if the family does not scale to n)
+    static Workload workload(String family, int n) {
+        Random rnd = new Random(SEED ^ n ^ family.hashCode());
+        switch (family) {
+            case "random": {
+                int m = DEGREE * n;
+                int[] src = new int[m], dest = new int[m];
+                for (int i = 0; i < m; i++) {
+                    src[i] = rnd.nextInt(n);
+                    dest[i] = rnd.nextInt(n);
+                }
+                return new Workload(family, n, src, dest, weights(m, rnd), 0);
+            }
+            case "grid": {
+                int side = (int) Math.sqrt(n);
+                int v = side * side;
+                int m = 2 * side * (side - 1);
+                int[] src = new int[m], dest = new int[m];
+                int k = 0;
+                for (int r = 0; r < side; r++) {
+                    for (int c = 0; c < side; c++) {
+                        int u = r * side + c;
+                        if (c + 1 < side) {
+                            src[k] = u;
+                            dest[k++] = u + 1;
+                        }
+                        if (r + 1 < side) {
+                            src[k] = u;
+                            dest[k++] = u + side;
+                        }
+                    }
+                }
+                return new Workload(family, v, src, dest, weights(m, rnd), side);
+            }
+            case "powerlaw": {
+                // Preferential attachment: a new vertex links to endpoints of earlier edges
+                int m = DEGREE * (n - 1);
+                int[] src = new int[m], dest = new int[m];
+                int k = 0;
+                for (int v = 1; v < n; v++) {
+                    for (int j = 0; j < DEGREE; j++) {
+                        int target = (k == 0) ? 0 : (rnd.nextBoolean() ? src[rnd.nextInt(k)] : dest[rnd.nextInt(k)]);
+                        if (target == v) {
+                            target = rnd.nextInt(v);
+                        }
+                        // Alternate directions so the directed graph has cycles
+                        if ((j & 1) == 0) {
+                            src[k] = v;
+                            dest[k++] = target;
+                        } else {
+                            src[k] = target;
+                            dest[k++] = v;
+                        }
+                    }
+                }
+                return new Workload(family, n, src, dest, weights(m, rnd), 0);
+            }
+            case "complete": {
+                if (n > COMPLETE_MAX) {
+                    return null;
+                }
+                int m = n * (n - 1);
+                int[] src = new int[m], dest = new int[m];
+                int k = 0;
+                for (int u = 0; u < n; u++) {
+                    for (int v = 0; v < n; v++) {
+                        if (u != v) {
+                            src[k] = u;
+                            dest[k++] = v;
+                        }
+                    }
+                }
+                return new Workload(family, n, src, dest, weights(m, rnd), 0);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown graph family: " + family);
+        }
+    }
+
+    private static int[] weights(int m, Random rnd) {
+        int[] wt = new int[m];
+        for (int i = 0; i < m; i++) {
+            wt[i] = 1 + rnd.nextInt(100);
+        }
+        return wt;
+    }
+
+    // Edges as {src, dest, wt} rows, the layout of the original int[][] APIs
+    static int[][] rows(Workload w) {
+        int[][] rows = new int[w.src.length][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new int[] {w.src[i], w.dest[i], w.wt[i]};
+        }
+        return rows;
+    }
+
+    // Symmetric adjacency matrix of the (complete) workload, 0 on the diagonal
+    static int[][] matrix(Workload w) {
+        int[][] matrix = new int[w.n][w.n];
+        for (int i = 0; i < w.src.length; i++) {
+            if (w.src[i] < w.dest[i]) {
+                matrix[w.src[i]][w.dest[i]] = matrix[w.dest[i]][w.src[i]] = w.wt[i];
+            }
+        }
+        return matrix;
+    }
+
+    // Two-color noise raster with a seed region spanning most of the image (see FloodFillBenchmark)
+    static int[] raster(int side) {
+        return FloodFillBenchmark.noise(side, SEED);
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Compressed-sparse-row (CSR) representation of a weighted directed graph.
+ *
+ * The out-edges of vertex u occupy the index range [offsets[u], offsets[u + 1])
+ * of the targets and weights arrays. The whole graph therefore lives in three
+ * primitive arrays instead of one Edge object per edge, and walking the
+ * neighbours of a vertex is a sequential scan over contiguous memory.
+ *
+ * Algorithms should go through start/end/target/weight rather than the raw
+ * arrays, so that MappedCSRGraph can serve the same graph from a mapped file.
+ *
+ * Time Complexity: O(V + E) to build (one counting pass, one fill pass).
+ * Space Complexity: 4 * (V + 1) + 8 * E bytes.
+ */
+public class CSRGraph {
+    final int n;          // Number of vertices
+    final int[] offsets;  // Edge range of vertex u is [offsets[u], offsets[u + 1])
+    final int[] targets;  // Destination vertex of each edge
+    final int[] weights;  // Weight of each edge (null for an unweighted graph)
+
+    CSRGraph(int n, int[] offsets, int[] targets, int[] weights) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a directed CSR graph from parallel edge arrays.
+     * Edges keep their input order inside each vertex's range.
+     *
+     * @param n    Number of vertices.
+     * @param src  Source vertex of every edge.
+     * @param dest Destination vertex of every edge.
+     * @param wt   Weight of every edge, or null for an unweighted graph.
+     * @return The CSR graph.
+     */
+    public static CSRGraph fromEdges(int n, int[] src, int[] dest, int[] wt) {
+        return build(n, src, dest, wt, src.length, false);
+    }
+
+    /**
+     * Builds a directed CSR graph from rows of the form {src, dest, wt}
+     * (the same layout as the flights array in CheapestFlights).
+     * Rows with only two columns produce an unweighted graph.
+     */
+    public static CSRGraph fromEdges(int n, int[][] edges) {
+        int m = edges.length;
+        int[] src = new int[m];
+        int[] dest = new int[m];
+        int[] wt = (m > 0 && edges[0].length > 2) ? new int[m] : null;
+        for (int i = 0; i < m; i++) {
+            src[i] = edges[i][0];
+            dest[i] = edges[i][1];
+            if (wt != null) {
+                wt[i] = edges[i][2];
+            }
+        }
+        return build(n, src, dest, wt, m, false);
+    }
+
+    /**
+     * Builds an undirected CSR graph: every input edge is stored in both directions.
+     */
+    public static CSRGraph fromUndirectedEdges(int n, int[] src, int[] dest, int[] wt) {
+        return build(n, src, dest, wt, src.length, true);
+    }
+
+    // Counting pass followed by a fill pass; no per-edge objects are created
+    private static CSRGraph build(int n, int[] src, int[] dest, int[] wt, int m, boolean undirected) {
+        if (dest.length != m || (wt != null && wt.length != m)) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        long total = undirected ? 2L * m : m;
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for a CSR graph: " + total);
+        }
+
+        // Step 1: Count the out-degree of every vertex
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            checkVertex(src[i], n);
+            checkVertex(dest[i], n);
+            offsets[src[i] + 1]++;
+            if (undirected) {
+                offsets[dest[i] + 1]++;
+            }
+        }
+
+        // Step 2: Prefix sum turns degrees into start offsets
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        // Step 3: Scatter edges into their slots
+        int[] targets = new int[(int) total];
+        int[] weights = (wt == null) ? null : new int[(int) total];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (int i = 0; i < m; i++) {
+            int slot = cursor[src[i]]++;
+            targets[slot] = dest[i];
+            if (weights != null) {
+                weights[slot] = wt[i];
+            }
+            if (undirected) {
+                slot = cursor[dest[i]]++;
+                targets[slot] = src[i];
+                if (weights != null) {
+                    weights[slot] = wt[i];
+                }
+            }
+        }
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+
+    private static void checkVertex(int v, int n) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + n + ")");
+        }
+    }
+
+    /**
+     * Builds the reverse (transposed) CSR graph, where every edge u -> v becomes v -> u.
+     * Useful for algorithms that walk incoming edges, such as Kosaraju's second pass.
+     *
+     * Time Complexity: O(V + E)
+     */
+    public CSRGraph transpose() {
+        int m = edgeCount();
+        int[] revOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            revOffsets[target(e) + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            revOffsets[u + 1] += revOffsets[u];
+        }
+
+        int[] revTargets = new int[m];
+        int[] revWeights = isWeighted() ? new int[m] : null;
+        int[] cursor = new int[n];
+        System.arraycopy(revOffsets, 0, cursor, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = start(u), end = end(u); e < end; e++) {
+                int slot = cursor[target(e)]++;
+                revTargets[slot] = u;
+                if (revWeights != null) {
+                    revWeights[slot] = weight(e);
+                }
+            }
+        }
+        return new CSRGraph(n, revOffsets, revTargets, revWeights);
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public int edgeCount() {
+        return offsets[n];
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    // Index of the first out-edge of u
+    public int start(int u) {
+        return offsets[u];
+    }
+
+    // One past the index of the last out-edge of u
+    public int end(int u) {
+        return offsets[u + 1];
+    }
+
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    // Destination vertex of edge e
+    public int target(int e) {
+        return targets[e];
+    }
+
+    // Weight of edge e (1 for unweighted graphs)
+    public int weight(int e) {
+        return (weights == null) ? 1 : weights[e];
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * Query engine for "cheapest flight with at most k stops".
+ *
+ * The flight network is turned into a CSRGraph once, and every query reuses
+ * per-thread scratch buffers, so a steady stream of queries allocates nothing.
+ *
+ * Approach (bounded Bellman-Ford, one stop level at a time):
+ * - Level L holds every city whose cost improved using exactly L + 1 flights,
+ *   with at most one entry per city (its cheapest cost at that level).
+ * - Expanding level L relaxes only the out-edges of those cities.
+ * - A city is never queued twice on the same level, so each level costs
+ *   O(V + E) in the worst case and usually far less.
+ * - With non-negative fares, any partial route that already costs at least
+ *   the best known fare to dest is pruned.
+ *
+ * Distances are reset lazily with an epoch counter instead of refilling
+ * the whole array for every query.
+ *
+ * Time Complexity: O(k * (V + E)) per query in the worst case.
+ */
+public class CheapestFlightEngine {
+    private final CSRGraph graph;
+    private final boolean nonNegative; // True if every fare is >= 0 (enables pruning)
+    private final ThreadLocal<Scratch> scratch;
+
+    public CheapestFlightEngine(CSRGraph graph) {
+        this.graph = graph;
+        boolean nonNeg = true;
+        for (int e = 0, m = graph.edgeCount(); e < m && nonNeg; e++) {
+            nonNeg = graph.weight(e) >= 0;
+        }
+        this.nonNegative = nonNeg;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(graph.vertexCount()));
+    }
+
+    // Builds the engine from rows of {src, dest, price}, the same layout as CheapestFlights
+    public CheapestFlightEngine(int n, int[][] flights) {
+        this(CSRGraph.fromEdges(n, flights));
+    }
+
+    public CSRGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Finds the cheapest cost from src to dest using at most k intermediate stops.
+     *
+     * @return The cheapest cost, or -1 if dest is unreachable within k stops.
+     */
+    public long cheapestFlight(int src, int dest, int k) {
+        if (src == dest) {
+            return 0;
+        }
+        Scratch s = scratch.get();
+        s.begin(src);
+        for (int stops = 0; stops <= k && s.size > 0; stops++) {
+            expandLevel(s, nonNegative ? dest : -1);
+        }
+        long best = s.dist(dest);
+        return (best == Long.MAX_VALUE) ? -1 : best;
+    }
+
+    /**
+     * Cheapest fare from src to every city using at most k stops, from one
+     * unpruned search.
+     *
+     * @return fares[v], or Long.MAX_VALUE if v is unreachable within k stops; fares[src] is 0.
+     */
+    public long[] cheapestFares(int src, int k) {
+        Scratch s = scratch.get();
+        s.begin(src);
+        for (int stops = 0; stops <= k && s.size > 0; stops++) {
+            expandLevel(s, -1);
+        }
+        long[] fares = new long[graph.vertexCount()];
+        for (int v = 0; v < fares.length; v++) {
+            fares[v] = s.dist(v);
+        }
+        fares[src] = 0;
+        return fares;
+    }
+
+    /**
+     * Answers a batch of (src[i], dest[i], k[i]) queries in one call.
+     *
+     * Approach:
+     * - Sort the queries by source (primitive sort of packed keys), then by k inside each source.
+     * - Run one bounded search per distinct source, up to the largest k asked for it.
+     * - After stop level L finishes, the distances are exactly the cheapest fares with at
+     *   most L stops, so every query of that source with k == L is answered on the spot.
+     *
+     * A batch of Q queries over S distinct sources therefore costs S searches plus
+     * O(Q log Q) for the sort, instead of Q searches.
+     *
+     * @return result[i] is the cheapest cost for query i, or -1 if unreachable.
+     */
+    public long[] cheapestFlights(int[] src, int[] dest, int[] k) {
+        int q = src.length;
+        if (dest.length != q || k.length != q) {
+            throw new IllegalArgumentException("Query arrays must have the same length");
+        }
+        long[] result = new long[q];
+        if (q == 0) {
+            return result;
+        }
+
+        // Step 1: Group by source; the low 32 bits carry the query index
+        long[] bySrc = new long[q];
+        for (int i = 0; i < q; i++) {
+            if (k[i] < 0) {
+                throw new IllegalArgumentException("Negative stop limit for query " + i + ": " + k[i]);
+            }
+            bySrc[i] = ((long) src[i] << 32) | i;
+        }
+        java.util.Arrays.sort(bySrc);
+
+        // Step 2: For each source run, order its queries by k and do one search
+        long[] byK = new long[q];
+        Scratch s = scratch.get();
+        for (int from = 0; from < q; ) {
+            int source = (int) (bySrc[from] >>> 32);
+            int to = from;
+            while (to < q && (int) (bySrc[to] >>> 32) == source) {
+                int i = (int) bySrc[to];
+                byK[to++] = ((long) k[i] << 32) | i;
+            }
+            java.util.Arrays.sort(byK, from, to);
+            answerGroup(s, source, byK, from, to, dest, result);
+            from = to;
+        }
+        return result;
+    }
+
+    // Runs one search from source and answers queries byK[from..to), sorted by k
+    private void answerGroup(Scratch s, int source, long[] byK, int from, int to, int[] dest, long[] result) {
+        s.begin(source);
+        int next = from;
+        int maxK = (int) (byK[to - 1] >>> 32);
+        for (int stops = 0; next < to; stops++) {
+            if (stops <= maxK && s.size > 0) {
+                expandLevel(s, -1); // No pruning: the group has many destinations
+            } else {
+                stops = maxK; // Frontier exhausted; remaining answers are final
+            }
+            while (next < to && (int) (byK[next] >>> 32) <= stops) {
+                int i = (int) byK[next++];
+                long best = (dest[i] == source) ? 0 : s.dist(dest[i]);
+                result[i] = (best == Long.MAX_VALUE) ? -1 : best;
+            }
+        }
+    }
+
+    /**
+     * Relaxes the out-edges of every city in the current frontier and swaps
+     * in the next frontier.
+     *
+     * @param s         Per-thread scratch state.
+     * @param pruneDest Destination used for pruning, or -1 to disable pruning.
+     */
+    void expandLevel(Scratch s, int pruneDest) {
+        int level = s.nextLevel();
+        int nextSize = 0;
+        int[] frontier = s.frontier, next = s.next, slotOf = s.slotOf, levelOf = s.levelOf;
+        long[] frontierCost = s.frontierCost, nextCost = s.nextCost;
+
+        for (int i = 0, size = s.size; i < size; i++) {
+            int u = frontier[i];
+            long cost = frontierCost[i];
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                long newCost = cost + graph.weight(e);
+                if (newCost >= s.dist(v)) {
+                    continue;
+                }
+                if (pruneDest >= 0 && v != pruneDest && newCost >= s.dist(pruneDest)) {
+                    continue; // Cannot lead to a cheaper fare for dest
+                }
+                s.setDist(v, newCost);
+                if (levelOf[v] == level) {
+                    nextCost[slotOf[v]] = newCost; // Already queued on this level
+                } else {
+                    levelOf[v] = level;
+                    slotOf[v] = nextSize;
+                    next[nextSize] = v;
+                    nextCost[nextSize++] = newCost;
+                }
+            }
+        }
+        s.swap(nextSize);
+    }
+
+    Scratch scratch() {
+        return scratch.get();
+    }
+
+    // Reusable per-thread buffers, sized once to the number of cities
+    static class Scratch {
+        final long[] distance;
+        final int[] seen;       // distance[v] is valid only if seen[v] == epoch
+        int epoch;
+        int[] frontier, next;   // Cities on the current / next stop level
+        long[] frontierCost, nextCost;
+        final int[] slotOf;     // Position of a city in the next frontier
+        final int[] levelOf;    // Level stamp at which slotOf[] was written
+        int level;
+        int size;               // Number of cities in the current frontier
+
+        Scratch(int n) {
+            distance = new long[n];
+            seen = new int[n];
+            frontier = new int[n];
+            next = new int[n];
+            frontierCost = new long[n];
+            nextCost = new long[n];
+            slotOf = new int[n];
+            levelOf = new int[n];
+        }
+
+        // Starts a new search from src
+        void begin(int src) {
+            if (++epoch == Integer.MAX_VALUE) {
+                java.util.Arrays.fill(seen, 0);
+                epoch = 1;
+            }
+            setDist(src, 0);
+            frontier[0] = src;
+            frontierCost[0] = 0;
+            size = 1;
+        }
+
+        int nextLevel() {
+            if (++level == Integer.MAX_VALUE) {
+                java.util.Arrays.fill(levelOf, 0);
+                level = 1;
+            }
+            return level;
+        }
+
+        long dist(int v) {
+            return (seen[v] == epoch) ? distance[v] : Long.MAX_VALUE;
+        }
+
+        void setDist(int v, long d) {
+            seen[v] = epoch;
+            distance[v] = d;
+        }
+
+        void swap(int nextSize) {
+            int[] t = frontier; frontier = next; next = t;
+            long[] tc = frontierCost; frontierCost = nextCost; nextCost = tc;
+            size = nextSize;
+        }
+    }
+
+    public static void main(String[] args) {
+        int n = 4;
+        int[][] flights = {
+            {0, 1, 100},
+            {1, 2, 100},
+            {1, 3, 600},
+            {2, 3, 200}
+        };
+        CheapestFlightEngine engine = new CheapestFlightEngine(n, flights);
+
+        // The graph is built once; every query below reuses the same buffers
+        System.out.println("0 -> 3, k = 0: " + engine.cheapestFlight(0, 3, 0));
+        System.out.println("0 -> 3, k = 1: " + engine.cheapestFlight(0, 3, 1));
+        System.out.println("0 -> 3, k = 2: " + engine.cheapestFlight(0, 3, 2));
+
+        // Batch: five queries, two distinct sources, so only two searches run
+        int[] src = {0, 0, 0, 1, 0};
+        int[] dest = {3, 3, 2, 3, 1};
+        int[] k = {0, 1, 1, 0, 0};
+        long[] fares = engine.cheapestFlights(src, dest, k);
+        for (int i = 0; i < fares.length; i++) {
+            System.out.println(src[i] + " -> " + dest[i] + ", k = " + k[i] + ": " + fares[i]);
+        }
+    }
+}
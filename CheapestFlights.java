@@ -50,6 +50,8 @@ public class CheapestFlights {
      * Time Complexity: O(V + E), where V is the number of cities and E is the number of flights.
      */
     public static int cheapestFlight(int n, int[][] flights, int src, int dest, int k) {
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("cheapestFlight-lists") : null;
+        long relaxed = 0, levels = 0;
         ArrayList<Edge>[] graph = new ArrayList[n];
         createGraph(flights, graph);
         
@@ -69,6 +71,10 @@ public class CheapestFlights {
             if (curr.stops > k) {
                 continue;
             }
+            if (GraphMetrics.ENABLED) {
+                relaxed += graph[curr.v].size();
+                levels = Math.max(levels, curr.stops + 1);
+            }
             
             for (Edge e : graph[curr.v]) {
                 int newCost = curr.cost + e.wt;
@@ -78,10 +84,84 @@ public class CheapestFlights {
                 }
             }
         }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, relaxed);
+            run.add(GraphMetrics.Counter.PASSES, levels);
+            run.end();
+        }
         
         return (distance[dest] == Integer.MAX_VALUE) ? -1 : distance[dest];
     }
 
+    /**
+     * Same query as above, but over a prebuilt CSR graph so the adjacency list
+     * is not rebuilt on every call.
+     *
+     * Approach:
+     * - Expand the graph one stop level at a time (at most k + 1 levels).
+     * - Each level keeps at most one entry per city (its cheapest cost at that level),
+     *   stored in primitive arrays instead of Info objects.
+     *
+     * Time Complexity: O(k * (V + E))
+     *
+     * @return The cheapest cost, or -1 if dest is unreachable within k stops.
+     */
+    public static long cheapestFlight(CSRGraph graph, int src, int dest, int k) {
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("cheapestFlight") : null;
+        long relaxed = 0, levels = 0;
+        int n = graph.vertexCount();
+        long[] distance = new long[n];
+        for (int i = 0; i < n; i++) {
+            distance[i] = Long.MAX_VALUE;
+        }
+        distance[src] = 0;
+
+        // Current and next frontier: city ids and the cost they were reached with
+        int[] frontier = new int[n], next = new int[n];
+        long[] frontierCost = new long[n], nextCost = new long[n];
+        int[] slotOf = new int[n]; // Position of a city in the next frontier
+        int[] levelOf = new int[n]; // Level (stops + 1) at which slotOf[] was written
+        int size = 1;
+        frontier[0] = src;
+
+        for (int stops = 0; stops <= k && size > 0; stops++) {
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                int u = frontier[i];
+                long cost = frontierCost[i];
+                if (GraphMetrics.ENABLED) {
+                    relaxed += graph.degree(u);
+                }
+                for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                    int v = graph.target(e);
+                    long newCost = cost + graph.weight(e);
+                    if (newCost < distance[v]) {
+                        distance[v] = newCost;
+                        if (levelOf[v] == stops + 1) {
+                            nextCost[slotOf[v]] = newCost; // Already queued for this level
+                        } else {
+                            levelOf[v] = stops + 1;
+                            slotOf[v] = nextSize;
+                            next[nextSize] = v;
+                            nextCost[nextSize++] = newCost;
+                        }
+                    }
+                }
+            }
+            int[] t = frontier; frontier = next; next = t;
+            long[] tc = frontierCost; frontierCost = nextCost; nextCost = tc;
+            size = nextSize;
+            levels++;
+        }
+
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, relaxed);
+            run.add(GraphMetrics.Counter.PASSES, levels);
+            run.end();
+        }
+        return (distance[dest] == Long.MAX_VALUE) ? -1 : distance[dest];
+    }
+
     public static void main(String[] args) {
         int n = 4; // Number of cities
         int[][] flights = {
@@ -93,5 +173,9 @@ public class CheapestFlights {
         int src = 0, dst = 3, k = 1;
         
         System.out.println("Cheapest Flight Cost: " + cheapestFlight(n, flights, src, dst, k));
+
+        // Same query over a CSR graph built once from the flights array
+        CSRGraph graph = CSRGraph.fromEdges(n, flights);
+        System.out.println("Cheapest Flight Cost (CSR): " + cheapestFlight(graph, src, dst, k));
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free union-find that many threads can use at the same time.
+ *
+ * Unlike DisjointSet (static arrays of a fixed size), every instance is
+ * independent and can grow while in use.
+ *
+ * Approach:
+ * - Parents live in AtomicIntegerArray chunks of 2^16 elements. Growing
+ *   installs new, fully initialised chunks with a CAS on the chunk directory,
+ *   so existing elements never move.
+ * - find() uses path halving: each step CASes x's parent to its grandparent.
+ *   A failed CAS only means another thread already shortened the path, so
+ *   find() never retries and is wait-free apart from the walk itself.
+ * - union() links one root under the other with a single CAS on the root's
+ *   parent, retrying only if that root stopped being a root in the meantime.
+ * - Roots are ordered by a hashed index (ties broken by index) instead of by
+ *   rank. Rank cannot be updated atomically together with the parent, and a
+ *   pseudo-random order keeps trees O(log n) deep in expectation even when ids
+ *   are merged in sequential order.
+ *
+ * Time Complexity: O(log n) expected per operation, amortised close to O(alpha(n)).
+ */
+public class ConcurrentDisjointSet {
+    static final int CHUNK_SHIFT = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    static final int MAX_CHUNKS = 1 << (31 - CHUNK_SHIFT);
+
+    private final AtomicReferenceArray<AtomicIntegerArray> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ConcurrentDisjointSet() {
+        this(0);
+    }
+
+    // Creates n singleton sets {0}, {1}, ..., {n-1}
+    public ConcurrentDisjointSet(int n) {
+        ensureCapacity(n);
+        size.set(n);
+    }
+
+    // Number of elements created so far
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Adds a new singleton set and returns its element id. Safe to call
+     * concurrently with find/union on existing elements; the new id may be
+     * used by any thread once this method has returned it.
+     */
+    public int makeSet() {
+        int id = size.getAndIncrement();
+        if (id < 0) {
+            throw new IllegalStateException("Union-find is full");
+        }
+        ensureCapacity(id + 1);
+        return id;
+    }
+
+    // Makes sure elements 0..n-1 exist in storage; each new element starts as its own root
+    public void ensureCapacity(int n) {
+        for (int c = 0, count = (n + CHUNK_MASK) >>> CHUNK_SHIFT; c < count; c++) {
+            if (chunks.get(c) == null) {
+                AtomicIntegerArray chunk = new AtomicIntegerArray(CHUNK_SIZE);
+                int base = c << CHUNK_SHIFT;
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    chunk.lazySet(i, base + i);
+                }
+                chunks.compareAndSet(c, null, chunk); // Loser's chunk is simply dropped
+            }
+        }
+        int cur;
+        while ((cur = size.get()) < n && !size.compareAndSet(cur, n)) {
+            // Retry until size covers n
+        }
+    }
+
+    private int parent(int x) {
+        return chunks.get(x >>> CHUNK_SHIFT).get(x & CHUNK_MASK);
+    }
+
+    private boolean casParent(int x, int expect, int update) {
+        return chunks.get(x >>> CHUNK_SHIFT).compareAndSet(x & CHUNK_MASK, expect, update);
+    }
+
+    private void checkElement(int x) {
+        if (x < 0 || x >= size.get()) {
+            throw new IndexOutOfBoundsException("Element " + x + " out of range [0, " + size.get() + ")");
+        }
+    }
+
+    /**
+     * Finds the representative of the set containing x, halving the path on the way.
+     * The answer may be stale as soon as it is returned if other threads are merging.
+     */
+    public int find(int x) {
+        checkElement(x);
+        while (true) {
+            int p = parent(x);
+            if (p == x) {
+                return x;
+            }
+            int gp = parent(p);
+            if (p != gp) {
+                casParent(x, p, gp); // Path halving; failure is harmless
+            }
+            x = gp;
+        }
+    }
+
+    /**
+     * Merges the sets containing a and b.
+     *
+     * @return true if the sets were different and have been merged by this call.
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            // Link the lower-priority root under the higher-priority one
+            if (before(rootA, rootB)) {
+                if (casParent(rootA, rootA, rootB)) {
+                    return true;
+                }
+            } else if (casParent(rootB, rootB, rootA)) {
+                return true;
+            }
+            // The chosen root was linked elsewhere concurrently; retry from the new roots
+        }
+    }
+
+    /**
+     * Returns true if a and b are in the same set. Linearizable: a false answer
+     * is only returned once a's root is confirmed to still be a root.
+     */
+    public boolean sameSet(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return true;
+            }
+            if (parent(rootA) == rootA) {
+                return false;
+            }
+        }
+    }
+
+    // Total order on roots by hashed index, so linking is effectively randomised
+    static boolean before(int x, int y) {
+        int hx = mix(x), hy = mix(y);
+        return (hx != hy) ? Integer.compareUnsigned(hx, hy) < 0 : x < y;
+    }
+
+    // Murmur3 32-bit finalizer
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    public static void main(String[] args) {
+        // Same operations as DisjointSet.main, on an instance
+        ConcurrentDisjointSet ds = new ConcurrentDisjointSet(7);
+
+        System.out.println("Find(3): " + ds.find(3));
+        ds.union(1, 3);
+        System.out.println("sameSet(1, 3) after union(1,3): " + ds.sameSet(1, 3));
+        ds.union(2, 4);
+        ds.union(3, 6);
+        ds.union(1, 4);
+        System.out.println("sameSet(3, 4) after more unions: " + ds.sameSet(3, 4));
+        System.out.println("sameSet(3, 5): " + ds.sameSet(3, 5));
+
+        // Grow while in use
+        int x = ds.makeSet();
+        ds.union(x, 5);
+        System.out.println("New element " + x + " joined 5: " + ds.sameSet(x, 5));
+    }
+}
@@ -0,0 +1,88 @@
+import java.util.Arrays;
+
+/**
+ * Condensation of a directed graph: every strongly connected component becomes
+ * one node, and the nodes form a DAG.
+ *
+ * Components are numbered in topological order: every DAG edge a -> b has a < b.
+ * Parallel edges between the same two components are merged into one, and
+ * edges inside a component are dropped. The DAG is stored as an unweighted
+ * CSRGraph whose adjacency lists are sorted.
+ *
+ * Time Complexity: O(V + E + E' log E'), where E' is the number of
+ * inter-component edges (for the sort used to deduplicate them).
+ */
+public class Condensation {
+    /** componentOf[v] = topological index of v's component. */
+    public final int[] componentOf;
+    /** Number of components (nodes of the DAG). */
+    public final int count;
+    /** The DAG itself; vertex ids are component ids. */
+    public final CSRGraph dag;
+
+    Condensation(int[] componentOf, int count, CSRGraph dag) {
+        this.componentOf = componentOf;
+        this.count = count;
+        this.dag = dag;
+    }
+
+    // Decomposes the graph with TarjanSCC and builds its condensation
+    public static Condensation of(CSRGraph graph) {
+        TarjanSCC.Result scc = TarjanSCC.components(graph);
+        int n = graph.vertexCount();
+        int count = scc.count;
+
+        // Tarjan ids are in reverse topological order; flip them
+        int[] componentOf = new int[n];
+        for (int v = 0; v < n; v++) {
+            componentOf[v] = count - 1 - scc.componentId[v];
+        }
+
+        long[] pairs = new long[graph.edgeCount()];
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            int cu = componentOf[u];
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int cv = componentOf[graph.target(e)];
+                if (cu != cv) {
+                    pairs[m++] = pack(cu, cv);
+                }
+            }
+        }
+        return new Condensation(componentOf, count, dagFromPairs(count, pairs, m));
+    }
+
+    // Packs a component edge so that sorting orders by source, then target
+    static long pack(int from, int to) {
+        return ((long) from << 32) | to;
+    }
+
+    // Sorts and deduplicates packed component edges pairs[0, m) into a CSR graph
+    static CSRGraph dagFromPairs(int count, long[] pairs, int m) {
+        Arrays.parallelSort(pairs, 0, m);
+        int unique = 0;
+        for (int i = 0; i < m; i++) {
+            if (unique == 0 || pairs[i] != pairs[unique - 1]) {
+                pairs[unique++] = pairs[i];
+            }
+        }
+        int[] src = new int[unique], dest = new int[unique];
+        for (int i = 0; i < unique; i++) {
+            src[i] = (int) (pairs[i] >>> 32);
+            dest[i] = (int) pairs[i];
+        }
+        return CSRGraph.fromEdges(count, src, dest, null);
+    }
+
+    public static void main(String[] args) {
+        // Graph from StronglyConnectedComponent.createGraph: {0, 1, 2} -> {3} -> {4}
+        CSRGraph graph = CSRGraph.fromEdges(5, new int[][] { {0, 2}, {0, 3}, {1, 0}, {2, 1}, {3, 4} });
+        Condensation c = of(graph);
+        System.out.println("Component of each vertex: " + Arrays.toString(c.componentOf));
+        for (int a = 0; a < c.count; a++) {
+            for (int e = c.dag.start(a), end = c.dag.end(a); e < end; e++) {
+                System.out.println("  component " + a + " -> component " + c.dag.target(e));
+            }
+        }
+    }
+}
@@ -42,6 +42,166 @@ public class ConnectingCities {
         return finalCost;
     }
 
+    /**
+     * Prim's algorithm over the cost matrix using an indexed heap with decrease-key.
+     * Each city is in the heap at most once, so no Edge objects are created, and
+     * parent[] gives back the roads that were chosen.
+     *
+     * Time Complexity: O(V^2 log V) worst case for a matrix input: every row is scanned
+     * once, and each scan can issue up to V decrease-keys at O(log V) each.
+     */
+    public static MinimumSpanningTree.PrimResult connectCitiesIndexed(int[][] cities) {
+        int n = cities.length;
+        MinimumSpanningTree.PrimResult res = new MinimumSpanningTree.PrimResult(n);
+        java.util.Arrays.fill(res.parent, -1);
+        boolean[] visited = new boolean[n];
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            res.roots++;
+            heap.insertOrDecrease(root, 0);
+            while (!heap.isEmpty()) {
+                int curr = heap.pollMin();
+                visited[curr] = true;
+                res.cost += res.weight[curr];
+
+                int[] row = cities[curr];
+                for (int i = 0; i < n; i++) {
+                    if (!visited[i] && row[i] != 0 && heap.insertOrDecrease(i, row[i])) {
+                        res.parent[i] = curr;
+                        res.weight[i] = row[i];
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    // Fraction of non-zero entries above which the dense O(V^2) strategy is used
+    static final double DENSE_THRESHOLD = 0.05;
+
+    /**
+     * Picks a strategy from the density of the cost matrix:
+     * - dense:  linear min-scan Prim's, O(V^2), no heap at all;
+     * - sparse: the non-zero entries are packed into a CSRGraph and Prim's runs
+     *           on an indexed heap, O(E log V).
+     * The density count stops as soon as the dense threshold is reached, so a
+     * dense matrix is only scanned about DENSE_THRESHOLD of the way before
+     * the dense strategy runs.
+     */
+    public static MinimumSpanningTree.PrimResult connectCitiesAuto(int[][] cities) {
+        int n = cities.length;
+        // Count row by row and stop once the matrix is known to be dense, so dense inputs are not scanned twice
+        long denseAt = (long) Math.ceil(DENSE_THRESHOLD * n * n);
+        long nonZero = 0;
+        for (int i = 0; i < n && nonZero < denseAt; i++) {
+            for (int c : cities[i]) {
+                if (c != 0) {
+                    nonZero++;
+                }
+            }
+        }
+        if (nonZero >= denseAt) {
+            return connectCitiesDense(cities);
+        }
+
+        // Sparse: keep only real roads (the matrix is symmetric, so i -> j covers both directions)
+        int[] src = new int[(int) nonZero], dest = new int[(int) nonZero], wt = new int[(int) nonZero];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (cities[i][j] != 0) {
+                    src[k] = i;
+                    dest[k] = j;
+                    wt[k++] = cities[i][j];
+                }
+            }
+        }
+        return MinimumSpanningTree.primsIndexed(CSRGraph.fromEdges(n, src, dest, wt));
+    }
+
+    // Copies the matrix into one contiguous row-major array: cost(i, j) = flat[i * n + j]
+    public static int[] flatten(int[][] cities) {
+        int n = cities.length;
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrix too large to flatten: " + n + " x " + n);
+        }
+        int[] flat = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(cities[i], 0, flat, i * n, n);
+        }
+        return flat;
+    }
+
+    // Dense Prim's directly over the rows of the matrix (each row is already contiguous)
+    public static MinimumSpanningTree.PrimResult connectCitiesDense(int[][] cities) {
+        return denseFrom(cities.length, cities, null);
+    }
+
+    /**
+     * Dense Prim's over a flattened row-major matrix (0 = no road).
+     *
+     * Approach:
+     * - minCost[v] is the cheapest known road from the tree to city v;
+     *   cities already in the tree hold Integer.MIN_VALUE so they never improve.
+     * - Adding city u scans row u once. The same loop lowers minCost and
+     *   tracks the next cheapest city, so there is no heap, nothing is allocated
+     *   per road, and the whole pass is one sequential sweep that the JIT can unroll.
+     *
+     * Time Complexity: O(V^2)
+     */
+    public static MinimumSpanningTree.PrimResult connectCitiesDense(int[] flat, int n) {
+        if (flat.length < (long) n * n) {
+            throw new IllegalArgumentException("Flat matrix has " + flat.length + " entries, expected " + n * n);
+        }
+        return denseFrom(n, null, flat);
+    }
+
+    private static MinimumSpanningTree.PrimResult denseFrom(int n, int[][] rows, int[] flat) {
+        MinimumSpanningTree.PrimResult res = new MinimumSpanningTree.PrimResult(n);
+        int[] minCost = new int[n];
+        int[] parent = res.parent;
+        java.util.Arrays.fill(minCost, Integer.MAX_VALUE);
+        java.util.Arrays.fill(parent, -1);
+
+        int next = 0; // Next city to add; city 0 starts the first tree
+        for (int added = 0; added < n; added++) {
+            int u = next;
+            if (minCost[u] == Integer.MAX_VALUE) {
+                res.roots++; // Unreachable from the current tree: start a new one
+            } else {
+                res.weight[u] = minCost[u];
+                res.cost += minCost[u];
+            }
+            minCost[u] = Integer.MIN_VALUE;
+
+            int[] row = (flat != null) ? flat : rows[u];
+            int base = (flat != null) ? u * n : 0;
+            int best = Integer.MAX_VALUE;
+            next = -1;
+            for (int v = 0; v < n; v++) {
+                int c = row[base + v];
+                int m = minCost[v];
+                if (c != 0 && c < m) {
+                    minCost[v] = c;
+                    parent[v] = u;
+                    m = c;
+                }
+                if (m != Integer.MIN_VALUE && (next < 0 || m < best)) {
+                    best = m;
+                    next = v;
+                }
+            }
+            if (next < 0) {
+                break; // Every city is in the forest
+            }
+        }
+        return res;
+    }
+
     public static void main(String[] args) {
         int[][] cities = {
             { 0, 1, 2, 3, 4 },
@@ -52,5 +212,8 @@ public class ConnectingCities {
         };
 
         System.out.println("Minimum cost to connect all cities: " + connectCities(cities));
+        System.out.println("Minimum cost (indexed heap): " + connectCitiesIndexed(cities).cost);
+        System.out.println("Minimum cost (dense, flattened): " + connectCitiesDense(flatten(cities), cities.length).cost);
+        System.out.println("Minimum cost (auto): " + connectCitiesAuto(cities).cost);
     }
 }
@@ -0,0 +1,524 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delta-stepping single-source shortest paths for non-negative weights,
+ * parallelised on a ForkJoinPool. A sequential Dijkstra is included as the
+ * baseline.
+ *
+ * Approach (Meyer and Sanders):
+ * - Tentative distances are grouped into buckets of width delta; bucket i
+ *   holds the vertices with distance in [i * delta, (i + 1) * delta).
+ * - Buckets are settled in increasing order. Light edges (w < delta) can put
+ *   a vertex back into the bucket being settled, so they are relaxed in
+ *   rounds until the bucket stays empty. Heavy edges (w >= delta) always land
+ *   in a later bucket, so they are relaxed once, from every vertex the
+ *   bucket ever held, after its distance is final.
+ * - Each round splits the frontier into chunks relaxed in parallel. Distances
+ *   are lowered with a CAS-min, and every successful relaxation appends the
+ *   target to the chunk's own bucket lists, so pushes need no locks. Stale
+ *   entries (a vertex whose distance has since moved to another bucket) are
+ *   dropped when a bucket is gathered.
+ * - Relaxations from bucket i never reach past i + maxWeight / delta, so
+ *   the buckets of a window are kept in a ring of maxWeight / delta + 2
+ *   slots, at most MAX_RING. With a capped ring, pushes past the window go
+ *   to overflow lists, which are moved into the ring when the window
+ *   reaches them. An occupancy bitmap over the slots finds the next
+ *   non-empty bucket without scanning every list.
+ * - Predecessors are derived after the distances are final: the lowest-id u
+ *   with dist[u] + w(u, v) == dist[v] and dist[u] < dist[v]. Vertices reached
+ *   only through 0-weight edges are then attached by a BFS over 0-weight
+ *   tight edges, so the predecessors always form a tree. Distances and
+ *   predecessors do not depend on the thread count.
+ *
+ * delta trades work for parallelism. With delta = 1 on integer weights the
+ * algorithm behaves like Dijkstra with a bucket queue: no wasted relaxations,
+ * but many small rounds. With delta >= maxWeight every edge is light and it
+ * becomes parallel Bellman-Ford over a single bucket. defaultDelta() picks
+ * maxWeight / average degree.
+ *
+ * Time Complexity: O(V + E + buckets * (ring / 64 + chunks)) work for graphs
+ * with random weights and the default delta; worst case O(V * E). Memory is
+ * O(V + chunks * ring) whatever the weights.
+ */
+public class DeltaStepping {
+    // Frontier vertices per parallel chunk, at least
+    static final int MIN_CHUNK = 128;
+
+    // Most ring slots per run; buckets further ahead wait in overflow lists
+    static final int MAX_RING = 1 << 10;
+
+    // Vertices per leaf task of the predecessor pass
+    static final int BLOCK = 1 << 12;
+
+    // Result of a single-source shortest path run
+    public static class Result {
+        /** Shortest distance to every vertex (Long.MAX_VALUE if unreachable). */
+        public final long[] distance;
+        /** Predecessor of every vertex on its shortest path (-1 for the source / unreachable). */
+        public final int[] predecessor;
+        /** Light-edge rounds plus heavy-edge passes executed (0 for Dijkstra). */
+        public final int phases;
+
+        Result(long[] distance, int[] predecessor, int phases) {
+            this.distance = distance;
+            this.predecessor = predecessor;
+            this.phases = phases;
+        }
+    }
+
+    // Runs with the default delta on the common pool
+    public static Result shortestPaths(CSRGraph graph, int src) {
+        return shortestPaths(graph, src, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs delta-stepping from src.
+     *
+     * @param graph Directed graph with non-negative weights.
+     * @param src   Source vertex.
+     * @param delta Bucket width, at least 1.
+     * @param pool  Pool relaxing the frontier chunks.
+     * @return Distances and predecessors.
+     * @throws IllegalArgumentException If an edge has a negative weight.
+     */
+    public static Result shortestPaths(CSRGraph graph, int src, int delta, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        if (src < 0 || src >= n) {
+            throw new IllegalArgumentException("Source " + src + " out of range [0, " + n + ")");
+        }
+        if (delta < 1) {
+            throw new IllegalArgumentException("Delta must be at least 1, got " + delta);
+        }
+        int maxWeight = maxWeight(graph);
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("deltaStepping", "buckets") : null;
+
+        Search s = new Search(graph, delta, maxWeight, pool);
+        s.run(src);
+        if (GraphMetrics.ENABLED) {
+            long relaxed = 0;
+            for (Bins b : s.bins) {
+                relaxed += b.relaxed;
+            }
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, relaxed);
+            run.add(GraphMetrics.Counter.PASSES, s.phases);
+            run.phase("predecessors");
+        }
+
+        long[] distance = new long[n];
+        for (int v = 0; v < n; v++) {
+            distance[v] = s.dist.get(v);
+        }
+        int[] pred = predecessors(graph, src, distance, pool);
+        if (GraphMetrics.ENABLED) {
+            run.end();
+        }
+        return new Result(distance, pred, s.phases);
+    }
+
+    // maxWeight / average out-degree, at least 1
+    public static int defaultDelta(CSRGraph graph) {
+        int n = graph.vertexCount();
+        long degree = Math.max(1, Math.round((double) graph.edgeCount() / Math.max(n, 1)));
+        return (int) Math.max(1, maxWeight(graph) / degree);
+    }
+
+    /**
+     * Sequential Dijkstra with an indexed heap; the baseline for delta-stepping.
+     *
+     * @throws IllegalArgumentException If an edge has a negative weight.
+     */
+    public static Result dijkstra(CSRGraph graph, int src) {
+        int n = graph.vertexCount();
+        if (src < 0 || src >= n) {
+            throw new IllegalArgumentException("Source " + src + " out of range [0, " + n + ")");
+        }
+        maxWeight(graph);
+        long[] dist = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        Arrays.fill(pred, -1);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        dist[src] = 0;
+        heap.insertOrDecrease(src, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            long du = dist[u];
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                long nd = du + graph.weight(e);
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, nd);
+                }
+            }
+        }
+        return new Result(dist, pred, 0);
+    }
+
+    // Largest edge weight; rejects negative weights
+    private static int maxWeight(CSRGraph graph) {
+        int max = 0;
+        for (int e = 0, m = graph.edgeCount(); e < m; e++) {
+            int w = graph.weight(e);
+            if (w < 0) {
+                throw new IllegalArgumentException("Edge " + e + " has negative weight " + w
+                        + "; use ParallelBellmanFord instead");
+            }
+            max = Math.max(max, w);
+        }
+        return max;
+    }
+
+    // Bucket lists owned by one frontier chunk: ring slots inside the window, one overflow list past it
+    static class Bins {
+        final int[][] lists;
+        final int[] sizes;
+        final long[] used;   // Slots that became non-empty since the last merge
+        boolean dirty;       // Anything pushed since the last merge
+        int[] overflow = new int[16];
+        int overflowSize;
+        long overflowMin = Long.MAX_VALUE; // Lowest bucket pushed to overflow since the last merge
+        long relaxed;
+
+        Bins(int slots) {
+            lists = new int[slots][];
+            sizes = new int[slots];
+            used = new long[(slots + 63) >>> 6];
+        }
+
+        void push(int slot, int v) {
+            int[] list = lists[slot];
+            if (list == null) {
+                list = lists[slot] = new int[16];
+            } else if (sizes[slot] == list.length) {
+                list = lists[slot] = Arrays.copyOf(list, list.length * 2);
+            }
+            if (sizes[slot] == 0) {
+                used[slot >>> 6] |= 1L << slot;
+                dirty = true;
+            }
+            list[sizes[slot]++] = v;
+        }
+
+        void pushOverflow(long bucket, int v) {
+            if (overflowSize == overflow.length) {
+                overflow = Arrays.copyOf(overflow, overflowSize * 2);
+            }
+            overflow[overflowSize++] = v;
+            overflowMin = Math.min(overflowMin, bucket);
+            dirty = true;
+        }
+    }
+
+    // State of one delta-stepping run
+    static class Search {
+        final CSRGraph graph;
+        final int delta;
+        final int ring;
+        final ForkJoinPool pool;
+        final AtomicLongArray dist;
+        final Bins[] bins;
+        final long[] occupied;         // Ring slots that may hold entries, merged from every Bins
+        final int[] frontier, settled;
+        final int[] queued, inSettled; // Stamps: gathered this round / recorded in settled[] this bucket
+        long windowEnd;                // Buckets below this go to ring slots, the rest to overflow
+        long overflowMin = Long.MAX_VALUE;
+        int stamp, phases;
+
+        Search(CSRGraph graph, int delta, int maxWeight, ForkJoinPool pool) {
+            int n = graph.vertexCount();
+            this.graph = graph;
+            this.delta = delta;
+            this.ring = (int) Math.min(maxWeight / delta + 2L, MAX_RING);
+            this.pool = pool;
+            dist = new AtomicLongArray(n);
+            for (int v = 0; v < n; v++) {
+                dist.set(v, Long.MAX_VALUE);
+            }
+            bins = new Bins[Math.max(1, pool.getParallelism() * 4)];
+            for (int i = 0; i < bins.length; i++) {
+                bins[i] = new Bins(ring);
+            }
+            occupied = new long[(ring + 63) >>> 6];
+            frontier = new int[n];
+            settled = new int[n];
+            queued = new int[n];
+            inSettled = new int[n];
+        }
+
+        void run(int src) {
+            dist.set(src, 0);
+            long bucket = 0;
+            windowEnd = ring;
+            frontier[0] = src;
+            int size = 1;
+            while (true) {
+                // Light edges, until bucket i stops refilling
+                int settledCount = 0;
+                int bucketStamp = ++stamp;
+                while (size > 0) {
+                    for (int i = 0; i < size; i++) {
+                        int v = frontier[i];
+                        if (inSettled[v] != bucketStamp) {
+                            inSettled[v] = bucketStamp;
+                            settled[settledCount++] = v;
+                        }
+                    }
+                    relax(frontier, size, true);
+                    size = gather(bucket);
+                }
+                // Heavy edges, once per vertex with its final distance
+                if (settledCount > 0) {
+                    relax(settled, settledCount, false);
+                }
+
+                // Next non-empty bucket: the lowest occupied slot of the window, else the lowest overflow
+                do {
+                    long next = nextOccupied(bucket);
+                    if (next < 0) {
+                        if (overflowMin == Long.MAX_VALUE) {
+                            return;
+                        }
+                        next = overflowMin;
+                    }
+                    bucket = next;
+                    windowEnd = bucket + ring;
+                    if (overflowMin < windowEnd) {
+                        drain(bucket);
+                    }
+                    size = gather(bucket);
+                } while (size == 0);
+            }
+        }
+
+        // Relaxes the light or heavy edges of vertices[0, size), in parallel chunks
+        void relax(int[] vertices, int size, boolean light) {
+            phases++;
+            int chunks = Math.min(bins.length, (size + MIN_CHUNK - 1) / MIN_CHUNK);
+            if (chunks <= 1) {
+                relaxChunk(vertices, 0, size, light, bins[0]);
+            } else {
+                pool.invoke(new RangeTask(0, chunks, 1, (lo, hi) -> {
+                    for (int c = lo; c < hi; c++) {
+                        int from = (int) ((long) size * c / chunks), to = (int) ((long) size * (c + 1) / chunks);
+                        relaxChunk(vertices, from, to, light, bins[c]);
+                    }
+                }));
+            }
+            merge();
+        }
+
+        void relaxChunk(int[] vertices, int from, int to, boolean light, Bins out) {
+            long relaxed = 0;
+            for (int i = from; i < to; i++) {
+                int u = vertices[i];
+                long du = dist.get(u);
+                for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                    int w = graph.weight(e);
+                    if ((w < delta) != light) {
+                        continue;
+                    }
+                    relaxed++;
+                    int v = graph.target(e);
+                    long nd = du + w;
+                    long cur = dist.get(v);
+                    while (nd < cur) {
+                        if (dist.compareAndSet(v, cur, nd)) {
+                            long b = nd / delta;
+                            if (b < windowEnd) {
+                                out.push((int) (b % ring), v);
+                            } else {
+                                out.pushOverflow(b, v);
+                            }
+                            break;
+                        }
+                        cur = dist.get(v);
+                    }
+                }
+            }
+            out.relaxed += relaxed;
+        }
+
+        // Folds the slots and overflow minimum pushed by every Bins into occupied[] and overflowMin
+        void merge() {
+            for (Bins bin : bins) {
+                if (!bin.dirty) {
+                    continue;
+                }
+                for (int i = 0; i < occupied.length; i++) {
+                    occupied[i] |= bin.used[i];
+                    bin.used[i] = 0;
+                }
+                overflowMin = Math.min(overflowMin, bin.overflowMin);
+                bin.overflowMin = Long.MAX_VALUE;
+                bin.dirty = false;
+            }
+        }
+
+        // Lowest bucket in (bucket, bucket + ring) whose slot is occupied, or -1
+        long nextOccupied(long bucket) {
+            int from = (int) ((bucket + 1) % ring);
+            int slot = nextSetBit(from, ring);
+            if (slot < 0) {
+                slot = nextSetBit(0, from);
+            }
+            if (slot < 0) {
+                return -1;
+            }
+            return bucket + 1 + Math.floorMod(slot - from, ring);
+        }
+
+        // Lowest set bit of occupied[] in [from, to), or -1
+        int nextSetBit(int from, int to) {
+            for (int i = from >>> 6, last = (to - 1) >>> 6; from < to && i <= last; i++) {
+                long word = occupied[i] & (-1L << (i == from >>> 6 ? from : 0));
+                if (word != 0) {
+                    int bit = (i << 6) + Long.numberOfTrailingZeros(word);
+                    return (bit < to) ? bit : -1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Moves the overflow entries that fall into the window starting at
+         * bucket into their ring slots. Entries whose distance has since
+         * dropped below the window are stale (the vertex was pushed again) and
+         * are dropped; the rest stay in overflow.
+         */
+        void drain(long bucket) {
+            long min = Long.MAX_VALUE;
+            for (Bins bin : bins) {
+                int kept = 0;
+                for (int i = 0; i < bin.overflowSize; i++) {
+                    int v = bin.overflow[i];
+                    long b = dist.get(v) / delta;
+                    if (b < bucket) {
+                        continue;
+                    }
+                    if (b < windowEnd) {
+                        bins[0].push((int) (b % ring), v);
+                    } else {
+                        bin.overflow[kept++] = v;
+                        min = Math.min(min, b);
+                    }
+                }
+                bin.overflowSize = kept;
+            }
+            overflowMin = min;
+            merge();
+        }
+
+        // Moves the live, distinct entries of bucket b into frontier[]; returns their count
+        int gather(long b) {
+            int slot = (int) (b % ring);
+            int mark = ++stamp;
+            int size = 0;
+            for (Bins bin : bins) {
+                int[] list = bin.lists[slot];
+                for (int i = 0, k = bin.sizes[slot]; i < k; i++) {
+                    int v = list[i];
+                    if (queued[v] != mark && dist.get(v) / delta == b) {
+                        queued[v] = mark;
+                        frontier[size++] = v;
+                    }
+                }
+                bin.sizes[slot] = 0;
+            }
+            occupied[slot >>> 6] &= ~(1L << slot);
+            return size;
+        }
+    }
+
+    /**
+     * Predecessor tree from final distances: the lowest-id strictly closer
+     * tight in-neighbour, then a BFS over 0-weight tight edges for vertices
+     * that have none.
+     */
+    static int[] predecessors(CSRGraph graph, int src, long[] dist, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        AtomicIntegerArray best = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) {
+            best.set(v, Integer.MAX_VALUE);
+        }
+        pool.invoke(new RangeTask(0, n, BLOCK, (lo, hi) -> {
+            for (int u = lo; u < hi; u++) {
+                long du = dist[u];
+                if (du == Long.MAX_VALUE) {
+                    continue;
+                }
+                for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                    int v = graph.target(e);
+                    int w = graph.weight(e);
+                    if (w > 0 && du + w == dist[v]) {
+                        int cur = best.get(v);
+                        while (u < cur && !best.compareAndSet(v, cur, u)) {
+                            cur = best.get(v);
+                        }
+                    }
+                }
+            }
+        }));
+
+        int[] pred = new int[n];
+        int missing = 0;
+        for (int v = 0; v < n; v++) {
+            int b = best.get(v);
+            pred[v] = (b == Integer.MAX_VALUE) ? -1 : b;
+            if (pred[v] < 0 && v != src && dist[v] != Long.MAX_VALUE) {
+                missing++;
+            }
+        }
+        if (missing == 0) {
+            return pred;
+        }
+
+        // Reached only over 0-weight edges: BFS from every resolved vertex, in id order
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (v == src || pred[v] >= 0) {
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail && missing > 0) {
+            int u = queue[head++];
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                if (graph.weight(e) == 0 && pred[v] < 0 && v != src && dist[v] == dist[u]) {
+                    pred[v] = u;
+                    queue[tail++] = v;
+                    missing--;
+                }
+            }
+        }
+        return pred;
+    }
+
+    public static void main(String[] args) {
+        // Graph from ShortestPath.createGraph, with its weights made non-negative
+        CSRGraph small = CSRGraph.fromEdges(5, new int[][] {
+            {0, 1, 2}, {0, 2, 4}, {1, 2, 1}, {2, 3, 2}, {3, 4, 4}, {4, 1, 1}
+        });
+        Result r = shortestPaths(small, 0);
+        System.out.println("Distances:    " + Arrays.toString(r.distance));
+        System.out.println("Predecessors: " + Arrays.toString(r.predecessor));
+
+        // Road-like grid: delta-stepping must match Dijkstra for every delta and thread count
+        CSRGraph grid = ShortestPathBenchmark.roadGrid(300, 42L);
+        long[] expected = dijkstra(grid, 0).distance;
+        for (int delta : new int[] {1, defaultDelta(grid), 1000}) {
+            for (int threads : new int[] {1, 4}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                Result d = shortestPaths(grid, 0, delta, pool);
+                System.out.printf("delta %4d, %d thread(s): %6d phases, matches Dijkstra: %s%n",
+                        delta, threads, d.phases, Arrays.equals(expected, d.distance));
+                pool.shutdown();
+            }
+        }
+    }
+}
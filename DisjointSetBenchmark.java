@@ -0,0 +1,135 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Contention benchmark: ConcurrentDisjointSet against a union-find guarded by
+ * a single lock (every find/union is synchronized).
+ *
+ * Every thread performs the same mix of operations on random elements:
+ * one union followed by two sameSet queries.
+ *
+ * Usage: java DisjointSetBenchmark [elements] [operationsPerThread]
+ */
+public class DisjointSetBenchmark {
+
+    // Minimal common surface for both implementations
+    interface DisjointSets {
+        boolean union(int a, int b);
+
+        boolean sameSet(int a, int b);
+    }
+
+    /**
+     * The classic sequential union-find (as in DisjointSet: union by rank,
+     * path compression), made thread-safe with one monitor.
+     */
+    static class SynchronizedDisjointSet implements DisjointSets {
+        private final int[] parent;
+        private final int[] rank;
+
+        SynchronizedDisjointSet(int n) {
+            parent = new int[n];
+            rank = new int[n];
+            for (int i = 0; i < n; i++) {
+                parent[i] = i;
+            }
+        }
+
+        // Iterative find with path compression
+        private int find(int x) {
+            int root = x;
+            while (parent[root] != root) {
+                root = parent[root];
+            }
+            while (parent[x] != root) {
+                int next = parent[x];
+                parent[x] = root;
+                x = next;
+            }
+            return root;
+        }
+
+        @Override
+        public synchronized boolean union(int a, int b) {
+            int rootA = find(a), rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            if (rank[rootA] > rank[rootB]) {
+                parent[rootB] = rootA;
+            } else if (rank[rootA] < rank[rootB]) {
+                parent[rootA] = rootB;
+            } else {
+                parent[rootB] = rootA;
+                rank[rootA]++;
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized boolean sameSet(int a, int b) {
+            return find(a) == find(b);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int ops = (args.length > 1) ? Integer.parseInt(args[1]) : 1_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-8s %18s %18s%n", "threads", "synchronized Mops/s", "lock-free Mops/s");
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            // Warm-up round, then the measured round
+            run(new SynchronizedDisjointSet(n), n, ops, threads);
+            run(adapt(new ConcurrentDisjointSet(n)), n, ops, threads);
+            double locked = run(new SynchronizedDisjointSet(n), n, ops, threads);
+            double lockFree = run(adapt(new ConcurrentDisjointSet(n)), n, ops, threads);
+            System.out.printf("%-8d %18.2f %18.2f%n", threads, locked, lockFree);
+        }
+    }
+
+    static DisjointSets adapt(ConcurrentDisjointSet ds) {
+        return new DisjointSets() {
+            @Override
+            public boolean union(int a, int b) {
+                return ds.union(a, b);
+            }
+
+            @Override
+            public boolean sameSet(int a, int b) {
+                return ds.sameSet(a, b);
+            }
+        };
+    }
+
+    // Returns throughput in millions of operations per second across all threads
+    static double run(DisjointSets uf, int n, int ops, int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = 42L + t;
+            workers[t] = new Thread(() -> {
+                SplittableRandom rnd = new SplittableRandom(seed);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < ops; i += 3) {
+                    uf.union(rnd.nextInt(n), rnd.nextInt(n));
+                    uf.sameSet(rnd.nextInt(n), rnd.nextInt(n));
+                    uf.sameSet(rnd.nextInt(n), rnd.nextInt(n));
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) {
+            w.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        return (double) ops * threads / seconds / 1e6;
+    }
+}
@@ -0,0 +1,116 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * n x n matrix of long distances, filled one row at a time.
+ *
+ * Two layouts are available:
+ * - inMemory: one long[] per row, so no single allocation exceeds 8 * n bytes.
+ * - mapped:   rows live in a memory-mapped file (little-endian, row-major),
+ *             so matrices far larger than the heap (e.g. 50k x 50k = 20 GB)
+ *             are paged in and out by the OS.
+ *
+ * Different rows may be written concurrently from different threads.
+ */
+public abstract class DistanceMatrix {
+    final int n;
+
+    DistanceMatrix(int n) {
+        this.n = n;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public abstract long get(int row, int col);
+
+    // Copies values[0..n) into the given row
+    public abstract void setRow(int row, long[] values);
+
+    // Writes pending changes to the backing store (no-op in memory)
+    public void flush() {
+    }
+
+    public static DistanceMatrix inMemory(int n) {
+        return new RowBlocked(n);
+    }
+
+    /**
+     * Creates (or overwrites) a file of 8 * n * n bytes and maps it as the matrix.
+     */
+    public static DistanceMatrix mapped(Path path, int n) throws IOException {
+        return new Mapped(path, n);
+    }
+
+    // Heap-backed matrix with one array per row
+    static class RowBlocked extends DistanceMatrix {
+        private final long[][] rows;
+
+        RowBlocked(int n) {
+            super(n);
+            rows = new long[n][];
+        }
+
+        @Override
+        public long get(int row, int col) {
+            return rows[row][col];
+        }
+
+        @Override
+        public void setRow(int row, long[] values) {
+            rows[row] = java.util.Arrays.copyOf(values, n);
+        }
+    }
+
+    // File-backed matrix; rows are grouped into mappings of at most 1 GB each
+    static class Mapped extends DistanceMatrix {
+        private final MappedByteBuffer[] chunks;
+        private final int rowsPerChunk;
+
+        Mapped(Path path, int n) throws IOException {
+            super(n);
+            long rowBytes = (long) n * Long.BYTES;
+            rowsPerChunk = (int) Math.max(1, Math.min(n, (1L << 30) / Math.max(rowBytes, 1)));
+            int count = (n + rowsPerChunk - 1) / rowsPerChunk;
+            chunks = new MappedByteBuffer[count];
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (int c = 0; c < count; c++) {
+                    int rows = Math.min(rowsPerChunk, n - c * rowsPerChunk);
+                    chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE,
+                            (long) c * rowsPerChunk * rowBytes, rows * rowBytes);
+                    chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+        }
+
+        private LongBuffer chunk(int row) {
+            return chunks[row / rowsPerChunk].duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+
+        @Override
+        public long get(int row, int col) {
+            return chunks[row / rowsPerChunk].getLong(((row % rowsPerChunk) * n + col) * Long.BYTES);
+        }
+
+        @Override
+        public void setRow(int row, long[] values) {
+            LongBuffer buf = chunk(row);
+            buf.position((row % rowsPerChunk) * n);
+            buf.put(values, 0, n);
+        }
+
+        @Override
+        public void flush() {
+            for (MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        }
+    }
+}
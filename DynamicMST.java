@@ -0,0 +1,600 @@
+import java.util.Arrays;
+
+/**
+ * Maintains a minimum spanning forest of an undirected graph under edge
+ * insertions, deletions and weight changes.
+ *
+ * Edges are ordered by ParallelKruskal.key(wt, id), weight then edge id, so
+ * the minimum spanning forest is unique. It is always exactly the forest a
+ * full Kruskal run over the live edges (listed in id order) would return.
+ *
+ * The forest is stored in a link-cut tree. Every tree edge is a node of its
+ * own between its two endpoints, so path queries see edge keys:
+ * - Insertion or weight decrease of edge e = (u, v): if u and v are in
+ *   different trees, e is linked. Otherwise the maximum edge f on the tree
+ *   path u..v is found; if e is lighter, f is cut and e linked in its place
+ *   (cycle property). A weight decrease of a tree edge only updates its key.
+ *   O(log V) amortized.
+ * - Deletion or weight increase of a tree edge e: e is cut, and the two
+ *   halves are explored alternately over tree edges until the smaller half
+ *   is fully marked. The lightest live edge between the halves is found by
+ *   scanning the edges incident to the smaller half only (for an increase,
+ *   e itself competes with its new weight), and linked (cut property).
+ *   O(size of the smaller half plus its incident edges).
+ * - Deletion or weight increase of a non-tree edge never changes the forest.
+ *
+ * Edge ids are assigned in insertion order and never reused.
+ */
+public class DynamicMST {
+    private static final long VERTEX_KEY = Long.MIN_VALUE;
+
+    private final int n;
+
+    // Edges by id
+    private int[] src, dest, wt;
+    private boolean[] alive, inTree;
+    private int edgeCount, liveEdges, treeEdges;
+    private long totalWeight;
+
+    // Incidence lists of live non-loop edges, with each edge's slot in both lists
+    private final int[][] inc;
+    private final int[] incSize;
+    private int[] slotSrc, slotDest;
+
+    // Link-cut tree: nodes 0..n-1 are vertices, node n + e is edge e
+    private int[] left, right, parent, best;
+    private boolean[] flip;
+    private long[] key;
+    private int[] splayStack;
+
+    // Scratch for splitting a tree after a cut
+    private final int[] seen, queueA, queueB;
+    private int epoch;
+
+    public DynamicMST(int n) {
+        this(n, new int[0], new int[0], new int[0]);
+    }
+
+    /**
+     * Builds the structure over an initial edge list; edge i gets id i. The
+     * initial forest comes from a single ParallelKruskal run.
+     */
+    public DynamicMST(int n, int[] src, int[] dest, int[] wt) {
+        this.n = n;
+        ParallelKruskal.Result msf = ParallelKruskal.kruskal(n, src, dest, wt);
+        int cap = Math.max(16, src.length);
+        this.src = Arrays.copyOf(src, cap);
+        this.dest = Arrays.copyOf(dest, cap);
+        this.wt = Arrays.copyOf(wt, cap);
+        alive = new boolean[cap];
+        inTree = new boolean[cap];
+        slotSrc = new int[cap];
+        slotDest = new int[cap];
+        inc = new int[n][];
+        incSize = new int[n];
+        for (int v = 0; v < n; v++) {
+            inc[v] = new int[4];
+        }
+        allocateNodes(n + cap);
+        seen = new int[n];
+        queueA = new int[n];
+        queueB = new int[n];
+        for (int v = 0; v < n; v++) {
+            initNode(v, VERTEX_KEY);
+        }
+
+        edgeCount = src.length;
+        for (int e = 0; e < edgeCount; e++) {
+            register(e);
+        }
+        for (int e : msf.edges) {
+            linkEdge(e);
+        }
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    // Number of live edges
+    public int edgeCount() {
+        return liveEdges;
+    }
+
+    // Sum of the weights of the forest edges
+    public long totalWeight() {
+        return totalWeight;
+    }
+
+    // Number of trees in the forest (1 if the graph is connected)
+    public int components() {
+        return n - treeEdges;
+    }
+
+    public boolean inTree(int e) {
+        checkEdge(e);
+        return inTree[e];
+    }
+
+    public int weight(int e) {
+        checkEdge(e);
+        return wt[e];
+    }
+
+    // Ids of the forest edges, ascending
+    public int[] treeEdges() {
+        int[] out = new int[treeEdges];
+        for (int e = 0, i = 0; e < edgeCount; e++) {
+            if (inTree[e]) {
+                out[i++] = e;
+            }
+        }
+        return out;
+    }
+
+    public boolean connected(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return findRoot(u) == findRoot(v);
+    }
+
+    /**
+     * Inserts edge u - v with weight w.
+     *
+     * @return The id of the new edge.
+     */
+    public int addEdge(int u, int v, int w) {
+        checkVertex(u);
+        checkVertex(v);
+        if (edgeCount == src.length) {
+            grow();
+        }
+        int e = edgeCount++;
+        src[e] = u;
+        dest[e] = v;
+        wt[e] = w;
+        register(e);
+        offer(e);
+        return e;
+    }
+
+    // Removes edge e
+    public void removeEdge(int e) {
+        checkEdge(e);
+        int u = src[e], v = dest[e];
+        if (u != v) {
+            unlinkIncidence(e);
+        }
+        alive[e] = false;
+        liveEdges--;
+        if (inTree[e]) {
+            cutEdge(e);
+            replace(u, v, -1);
+        }
+    }
+
+    // Changes the weight of edge e to w
+    public void updateWeight(int e, int w) {
+        checkEdge(e);
+        int old = wt[e];
+        if (w == old) {
+            return;
+        }
+        if (w < old) {
+            if (inTree[e]) {
+                totalWeight += (long) w - old;
+                wt[e] = w;
+                access(n + e);
+                key[n + e] = ParallelKruskal.key(w, e);
+                pushUp(n + e);
+            } else {
+                wt[e] = w;
+                offer(e);
+            }
+        } else {
+            if (inTree[e]) {
+                cutEdge(e);
+                wt[e] = w;
+                replace(src[e], dest[e], e);
+            } else {
+                wt[e] = w;
+            }
+        }
+    }
+
+    /**
+     * Checks the forest against a full ParallelKruskal run over the live
+     * edges; for tests and demos.
+     */
+    boolean agreesWithKruskal() {
+        int[] ids = new int[liveEdges];
+        for (int e = 0, i = 0; e < edgeCount; e++) {
+            if (alive[e]) {
+                ids[i++] = e;
+            }
+        }
+        int[] s = new int[ids.length], d = new int[ids.length], w = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            s[i] = src[ids[i]];
+            d[i] = dest[ids[i]];
+            w[i] = wt[ids[i]];
+        }
+        // Compacting in id order keeps the relative (weight, id) order, so the forests must match exactly
+        ParallelKruskal.Result msf = ParallelKruskal.kruskal(n, s, d, w);
+        int[] expected = new int[msf.edges.length];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = ids[msf.edges[i]];
+        }
+        Arrays.sort(expected);
+        return msf.totalWeight == totalWeight && Arrays.equals(expected, treeEdges());
+    }
+
+    // Edge e is new or lighter: link it, or swap it for the heaviest edge on the cycle it closes
+    private void offer(int e) {
+        int u = src[e], v = dest[e];
+        if (u == v) {
+            return;
+        }
+        if (findRoot(u) != findRoot(v)) {
+            linkEdge(e);
+            return;
+        }
+        makeRoot(u);
+        access(v);
+        int f = best[v] - n;
+        if (ParallelKruskal.key(wt[e], e) < key[n + f]) {
+            cutEdge(f);
+            linkEdge(e);
+        }
+    }
+
+    /**
+     * After cutting the tree edge between u and v, links the lightest live edge
+     * that reconnects the two halves, if any. The halves are explored in
+     * lockstep so the work is bounded by the smaller one.
+     */
+    private void replace(int u, int v, int candidate) {
+        if (epoch >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(seen, 0);
+            epoch = 0;
+        }
+        int epochA = ++epoch, epochB = ++epoch;
+        int[] small = explore(u, v, epochA, epochB);
+        int size = small[0], side = small[1];
+        int[] queue = (side == 0) ? queueA : queueB;
+        int mark = (side == 0) ? epochA : epochB;
+
+        int bestEdge = -1;
+        long bestKey = Long.MAX_VALUE;
+        if (candidate >= 0) {
+            bestEdge = candidate;
+            bestKey = ParallelKruskal.key(wt[candidate], candidate);
+        }
+        for (int i = 0; i < size; i++) {
+            int x = queue[i];
+            for (int j = 0; j < incSize[x]; j++) {
+                int e = inc[x][j];
+                int y = (src[e] == x) ? dest[e] : src[e];
+                if (seen[y] == mark) {
+                    continue; // Both ends in the smaller half
+                }
+                long k = ParallelKruskal.key(wt[e], e);
+                if (k < bestKey) {
+                    bestKey = k;
+                    bestEdge = e;
+                }
+            }
+        }
+        if (bestEdge >= 0) {
+            linkEdge(bestEdge);
+        }
+    }
+
+    /**
+     * Alternating BFS over tree edges from u (queue A, marked epochA) and v
+     * (queue B, marked epochB). Stops as soon as one side is exhausted, so
+     * only that side is guaranteed to be fully marked.
+     *
+     * @return {size, side} of the exhausted half (side 0 = u's, 1 = v's).
+     */
+    private int[] explore(int u, int v, int epochA, int epochB) {
+        int headA = 0, tailA = 0, headB = 0, tailB = 0;
+        queueA[tailA++] = u;
+        seen[u] = epochA;
+        queueB[tailB++] = v;
+        seen[v] = epochB;
+        while (true) {
+            if (headA == tailA) {
+                return new int[] {tailA, 0};
+            }
+            tailA = expand(queueA[headA++], queueA, tailA, epochA);
+            if (headB == tailB) {
+                return new int[] {tailB, 1};
+            }
+            tailB = expand(queueB[headB++], queueB, tailB, epochB);
+        }
+    }
+
+    // Appends the unseen tree neighbours of x to queue
+    private int expand(int x, int[] queue, int tail, int mark) {
+        for (int j = 0; j < incSize[x]; j++) {
+            int e = inc[x][j];
+            if (!inTree[e]) {
+                continue;
+            }
+            int y = (src[e] == x) ? dest[e] : src[e];
+            if (seen[y] != mark) {
+                seen[y] = mark;
+                queue[tail++] = y;
+            }
+        }
+        return tail;
+    }
+
+    // Records edge e as live and adds it to the incidence lists
+    private void register(int e) {
+        alive[e] = true;
+        liveEdges++;
+        initNode(n + e, ParallelKruskal.key(wt[e], e));
+        int u = src[e], v = dest[e];
+        if (u == v) {
+            return; // Self-loops never join two trees
+        }
+        slotSrc[e] = append(u, e);
+        slotDest[e] = append(v, e);
+    }
+
+    private int append(int x, int e) {
+        if (incSize[x] == inc[x].length) {
+            inc[x] = Arrays.copyOf(inc[x], incSize[x] * 2);
+        }
+        inc[x][incSize[x]] = e;
+        return incSize[x]++;
+    }
+
+    private void unlinkIncidence(int e) {
+        removeSlot(src[e], slotSrc[e]);
+        removeSlot(dest[e], slotDest[e]);
+    }
+
+    // Swap-removes slot i of x's incidence list, fixing the moved edge's slot
+    private void removeSlot(int x, int i) {
+        int last = --incSize[x];
+        int moved = inc[x][last];
+        inc[x][i] = moved;
+        if (src[moved] == x && slotSrc[moved] == last) {
+            slotSrc[moved] = i;
+        } else {
+            slotDest[moved] = i;
+        }
+    }
+
+    private void linkEdge(int e) {
+        int node = n + e;
+        key[node] = ParallelKruskal.key(wt[e], e);
+        pushUp(node);
+        link(node, src[e]);
+        link(dest[e], node);
+        inTree[e] = true;
+        treeEdges++;
+        totalWeight += wt[e];
+    }
+
+    private void cutEdge(int e) {
+        int node = n + e;
+        cut(src[e], node);
+        cut(node, dest[e]);
+        inTree[e] = false;
+        treeEdges--;
+        totalWeight -= wt[e];
+    }
+
+    // ---- Link-cut tree ----
+
+    private void initNode(int x, long k) {
+        left[x] = right[x] = parent[x] = -1;
+        flip[x] = false;
+        key[x] = k;
+        best[x] = x;
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p < 0 || (left[p] != x && right[p] != x);
+    }
+
+    // best[x] = node with the largest key in x's splay subtree
+    private void pushUp(int x) {
+        int b = x;
+        int l = left[x], r = right[x];
+        if (l >= 0 && key[best[l]] > key[b]) {
+            b = best[l];
+        }
+        if (r >= 0 && key[best[r]] > key[b]) {
+            b = best[r];
+        }
+        best[x] = b;
+    }
+
+    private void pushDown(int x) {
+        if (flip[x]) {
+            int l = left[x];
+            left[x] = right[x];
+            right[x] = l;
+            if (left[x] >= 0) {
+                flip[left[x]] ^= true;
+            }
+            if (right[x] >= 0) {
+                flip[right[x]] ^= true;
+            }
+            flip[x] = false;
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x], g = parent[p];
+        boolean pRoot = isSplayRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] >= 0) {
+                parent[right[x]] = p;
+            }
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] >= 0) {
+                parent[left[x]] = p;
+            }
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pRoot) {
+            if (left[g] == p) {
+                left[g] = x;
+            } else {
+                right[g] = x;
+            }
+        }
+        pushUp(p);
+        pushUp(x);
+    }
+
+    private void splay(int x) {
+        // Push pending flips down from the splay root, top to bottom
+        int sp = 0;
+        splayStack[sp++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            splayStack[sp++] = parent[y];
+        }
+        while (sp > 0) {
+            pushDown(splayStack[--sp]);
+        }
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    // Makes the root-to-x path preferred; x ends up as the root of its splay tree
+    private void access(int x) {
+        for (int last = -1, y = x; y >= 0; last = y, y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pushUp(y);
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        flip[x] ^= true;
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        int r = x;
+        while (true) {
+            pushDown(r);
+            if (left[r] < 0) {
+                break;
+            }
+            r = left[r];
+        }
+        splay(r);
+        return r;
+    }
+
+    // x and y are in different trees
+    private void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    // x and y are adjacent
+    private void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        left[y] = -1;
+        parent[x] = -1;
+        pushUp(y);
+    }
+
+    private void allocateNodes(int nodes) {
+        int old = (left == null) ? 0 : left.length;
+        left = (old == 0) ? new int[nodes] : Arrays.copyOf(left, nodes);
+        right = (old == 0) ? new int[nodes] : Arrays.copyOf(right, nodes);
+        parent = (old == 0) ? new int[nodes] : Arrays.copyOf(parent, nodes);
+        best = (old == 0) ? new int[nodes] : Arrays.copyOf(best, nodes);
+        flip = (old == 0) ? new boolean[nodes] : Arrays.copyOf(flip, nodes);
+        key = (old == 0) ? new long[nodes] : Arrays.copyOf(key, nodes);
+        splayStack = new int[nodes];
+    }
+
+    private void grow() {
+        int cap = src.length * 2;
+        src = Arrays.copyOf(src, cap);
+        dest = Arrays.copyOf(dest, cap);
+        wt = Arrays.copyOf(wt, cap);
+        alive = Arrays.copyOf(alive, cap);
+        inTree = Arrays.copyOf(inTree, cap);
+        slotSrc = Arrays.copyOf(slotSrc, cap);
+        slotDest = Arrays.copyOf(slotDest, cap);
+        allocateNodes(n + cap);
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + n + ")");
+        }
+    }
+
+    private void checkEdge(int e) {
+        if (e < 0 || e >= edgeCount || !alive[e]) {
+            throw new IllegalArgumentException("No live edge with id " + e);
+        }
+    }
+
+    public static void main(String[] args) {
+        // Graph from KruskalAlgorithm.createGraph
+        DynamicMST mst = new DynamicMST(4, new int[] {0, 0, 0, 1, 2}, new int[] {1, 2, 3, 3, 3},
+                new int[] {10, 15, 30, 40, 50});
+        System.out.println("Minimum Spanning Tree Cost: " + mst.totalWeight());
+
+        int e = mst.addEdge(2, 3, 5);
+        System.out.println("After adding 2 - 3 (5): " + mst.totalWeight() + ", new edge in tree: " + mst.inTree(e));
+        mst.updateWeight(3, 1);
+        System.out.println("After 1 - 3 drops to 1: " + mst.totalWeight());
+        mst.removeEdge(0);
+        System.out.println("After removing 0 - 1: " + mst.totalWeight());
+        mst.updateWeight(e, 100);
+        System.out.println("After 2 - 3 rises to 100: " + mst.totalWeight());
+        System.out.println("Tree edges " + Arrays.toString(mst.treeEdges()) + ", matches Kruskal: "
+                + mst.agreesWithKruskal());
+
+        // Random update stream on a larger graph
+        java.util.Random rnd = new java.util.Random(23);
+        int n = 2_000, m = 10_000;
+        int[] s = new int[m], d = new int[m], w = new int[m];
+        for (int i = 0; i < m; i++) {
+            s[i] = rnd.nextInt(n);
+            d[i] = rnd.nextInt(n);
+            w[i] = rnd.nextInt(1_000_000);
+        }
+        DynamicMST big = new DynamicMST(n, s, d, w);
+        long t = System.nanoTime();
+        int updates = 100_000;
+        for (int i = 0; i < updates; i++) {
+            int id = rnd.nextInt(m);
+            big.updateWeight(id, rnd.nextInt(1_000_000));
+        }
+        double ms = (System.nanoTime() - t) / 1e6;
+        System.out.printf("%d weight updates on %d vertices / %d edges: %.1f ms (%.2f us each), matches Kruskal: %s%n",
+                updates, n, m, ms, ms * 1000 / updates, big.agreesWithKruskal());
+    }
+}
@@ -0,0 +1,470 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Streams an edge-list file straight into a CSRGraph, with no per-edge objects.
+ *
+ * Approach:
+ * - The file is cut into chunks of about CHUNK_BYTES. Each cut is moved forward
+ *   to a record boundary (the next line for text, the next record for binary),
+ *   and every chunk is memory-mapped on its own, so the file is never read
+ *   into the heap as a whole.
+ * - Counting pass: each chunk is parsed and the out-degrees are counted into
+ *   per-worker arrays. These are summed and prefix-summed into the CSR offsets.
+ * - Fill pass: the chunks are parsed again and every edge is written into its
+ *   slot through an atomic per-vertex cursor.
+ * - Both passes run the chunks in parallel on the given ForkJoinPool. With a
+ *   null pool they run sequentially, and each vertex's edges keep their file
+ *   order. In parallel, the order within a vertex's range is unspecified.
+ *
+ * Formats are pluggable through the Format interface. The built-in formats are
+ * delimited text (csv, tsv, whitespace) and little-endian binary int records. Text is
+ * parsed byte by byte without creating Strings.
+ *
+ * Time Complexity: O(file size + V) per pass, two passes.
+ */
+public class EdgeListLoader {
+    static final int CHUNK_BYTES = 1 << 26;
+
+    // Receives the edges parsed from a chunk
+    public interface EdgeSink {
+        void edge(int src, int dest, int wt);
+    }
+
+    // An edge-list file format
+    public interface Format {
+        /** true if every record carries a weight. */
+        boolean weighted();
+
+        /** First record boundary at or after byte pos (size if there is none). */
+        long align(FileChannel channel, long pos, long size) throws IOException;
+
+        /**
+         * Parses every record in buf, which starts on a record boundary and ends on
+         * one or at the end of the file.
+         *
+         * @param buf  The chunk.
+         * @param base File position of buf's first byte (for error messages).
+         * @param sink Receives each edge; unweighted formats report weight 1.
+         */
+        void parse(ByteBuffer buf, long base, EdgeSink sink);
+    }
+
+    // Comma-separated "src,dest[,wt]" lines; a line using any other separator is rejected
+    public static Format csv(boolean weighted) {
+        return new TextFormat(weighted, (byte) ',');
+    }
+
+    // Tab-separated "src<TAB>dest[<TAB>wt]" lines; a line using any other separator is rejected
+    public static Format tsv(boolean weighted) {
+        return new TextFormat(weighted, (byte) '\t');
+    }
+
+    // SNAP-style lines: fields separated by any run of spaces and tabs
+    public static Format whitespace(boolean weighted) {
+        return new TextFormat(weighted, (byte) ' ');
+    }
+
+    // Little-endian int records {src, dest} or {src, dest, wt}
+    public static Format binary(boolean weighted) {
+        return new BinaryFormat(weighted);
+    }
+
+    /**
+     * Text edge lists, one edge per line. Fields are separated by one
+     * separator byte (',' or tab) with optional blanks around it, or, for the
+     * separator ' ', by any run of spaces and tabs. A line whose fields are
+     * joined by anything else is malformed. Columns after the ones needed are
+     * ignored. Blank lines, and lines starting with anything but a digit or
+     * '-' (comments, a header row), are skipped.
+     */
+    static class TextFormat implements Format {
+        private final boolean weighted;
+        private final byte separator;
+
+        TextFormat(boolean weighted, byte separator) {
+            this.weighted = weighted;
+            this.separator = separator;
+        }
+
+        // Spaces and tabs, except a tab that is the separator
+        private boolean blank(byte b) {
+            return b == ' ' || (b == '\t' && separator != '\t');
+        }
+
+        @Override
+        public boolean weighted() {
+            return weighted;
+        }
+
+        @Override
+        public long align(FileChannel channel, long pos, long size) throws IOException {
+            if (pos <= 0) {
+                return 0;
+            }
+            // The boundary is just past the first '\n' at or after pos - 1
+            ByteBuffer buf = ByteBuffer.allocate(4096);
+            long p = pos - 1;
+            while (p < size) {
+                buf.clear();
+                int read = channel.read(buf, p);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buf.get(i) == '\n') {
+                        return p + i + 1;
+                    }
+                }
+                p += read;
+            }
+            return size;
+        }
+
+        @Override
+        public void parse(ByteBuffer buf, long base, EdgeSink sink) {
+            int fields = weighted ? 3 : 2;
+            int[] value = new int[3];
+            int pos = buf.position(), limit = buf.limit();
+            while (pos < limit) {
+                int lineStart = pos;
+                // Skip leading blanks
+                byte b = 0;
+                while (pos < limit && blank(b = buf.get(pos))) {
+                    pos++;
+                }
+                if (pos == limit) {
+                    break;
+                }
+                if (b != '-' && (b < '0' || b > '9')) {
+                    pos = skipLine(buf, pos, limit); // Comment, header or blank line
+                    continue;
+                }
+                for (int f = 0; f < fields; f++) {
+                    if (f > 0) {
+                        pos = skipSeparator(buf, pos, limit, base + lineStart);
+                    }
+                    boolean negative = false;
+                    if (pos < limit && buf.get(pos) == '-') {
+                        negative = true;
+                        pos++;
+                    }
+                    int digitsStart = pos;
+                    long v = 0;
+                    while (pos < limit && (b = buf.get(pos)) >= '0' && b <= '9') {
+                        v = v * 10 + (b - '0');
+                        if (v > Integer.MAX_VALUE + 1L) {
+                            throw malformed(base + lineStart, "number out of int range");
+                        }
+                        pos++;
+                    }
+                    if (pos == digitsStart) {
+                        throw malformed(base + lineStart, "expected " + fields + " integer fields");
+                    }
+                    v = negative ? -v : v;
+                    if (v > Integer.MAX_VALUE) {
+                        throw malformed(base + lineStart, "number out of int range");
+                    }
+                    value[f] = (int) v;
+                }
+                sink.edge(value[0], value[1], weighted ? value[2] : 1);
+                pos = skipLine(buf, pos, limit);
+            }
+        }
+
+        // Position of the next field: past the separator and the blanks around it
+        private int skipSeparator(ByteBuffer buf, int pos, int limit, long lineOffset) {
+            int start = pos;
+            while (pos < limit && blank(buf.get(pos))) {
+                pos++;
+            }
+            if (separator == ' ') {
+                if (pos == start) {
+                    throw malformed(lineOffset, "expected blanks between fields");
+                }
+                return pos;
+            }
+            if (pos == limit || buf.get(pos) != separator) {
+                throw malformed(lineOffset, "expected " + (separator == '\t' ? "a tab" : "'" + (char) separator + "'")
+                        + " between fields");
+            }
+            pos++;
+            while (pos < limit && blank(buf.get(pos))) {
+                pos++;
+            }
+            return pos;
+        }
+
+        // Position just past the next '\n' (or limit)
+        private static int skipLine(ByteBuffer buf, int pos, int limit) {
+            while (pos < limit && buf.get(pos) != '\n') {
+                pos++;
+            }
+            return pos + 1;
+        }
+
+        private static IllegalArgumentException malformed(long offset, String reason) {
+            return new IllegalArgumentException("Malformed edge record at byte " + offset + ": " + reason);
+        }
+    }
+
+    // Fixed-size little-endian records; a trailing partial record is an error
+    static class BinaryFormat implements Format {
+        private final boolean weighted;
+        private final int recordBytes;
+
+        BinaryFormat(boolean weighted) {
+            this.weighted = weighted;
+            this.recordBytes = (weighted ? 3 : 2) * Integer.BYTES;
+        }
+
+        @Override
+        public boolean weighted() {
+            return weighted;
+        }
+
+        @Override
+        public long align(FileChannel channel, long pos, long size) {
+            long aligned = (pos + recordBytes - 1) / recordBytes * recordBytes;
+            return Math.min(aligned, size);
+        }
+
+        @Override
+        public void parse(ByteBuffer buf, long base, EdgeSink sink) {
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.remaining() % recordBytes != 0) {
+                throw new IllegalArgumentException("Truncated binary edge record near byte "
+                        + (base + buf.limit() - buf.remaining() % recordBytes));
+            }
+            for (int pos = buf.position(), limit = buf.limit(); pos < limit; pos += recordBytes) {
+                sink.edge(buf.getInt(pos), buf.getInt(pos + 4), weighted ? buf.getInt(pos + 8) : 1);
+            }
+        }
+    }
+
+    // Loads a directed graph, inferring the vertex count from the largest id
+    public static CSRGraph load(Path path, Format format) throws IOException {
+        return load(path, format, -1, false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads an edge-list file into a CSR graph.
+     *
+     * @param path       The edge-list file.
+     * @param format     Its format.
+     * @param n          Number of vertices, or -1 to use the largest id + 1.
+     * @param undirected true to store every edge in both directions.
+     * @param pool       Pool to parse chunks on, or null to parse sequentially.
+     * @return The CSR graph.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If a record is malformed or a vertex is out of range.
+     */
+    public static CSRGraph load(Path path, Format format, int n, boolean undirected, ForkJoinPool pool)
+            throws IOException {
+        return load(path, format, n, undirected, pool, CHUNK_BYTES);
+    }
+
+    // Same as above with an explicit chunk size
+    static CSRGraph load(Path path, Format format, int n, boolean undirected, ForkJoinPool pool, int chunkBytes)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, format, size, chunkBytes);
+            int chunks = bounds.length - 1;
+
+            // Counting pass
+            ConcurrentLinkedQueue<Counter> counters = new ConcurrentLinkedQueue<>();
+            ConcurrentLinkedQueue<Counter> all = new ConcurrentLinkedQueue<>();
+            forEachChunk(chunks, pool, c -> {
+                Counter counter = counters.poll();
+                if (counter == null) {
+                    counter = new Counter(Math.max(n, 16));
+                    all.add(counter);
+                }
+                Counter k = counter;
+                parseChunk(channel, format, bounds[c], bounds[c + 1], (s, d, w) -> {
+                    k.add(s);
+                    if (undirected) {
+                        k.add(d);
+                    }
+                    k.see(d);
+                });
+                counters.add(counter);
+            });
+
+            int maxId = -1;
+            long m = 0;
+            for (Counter k : all) {
+                maxId = Math.max(maxId, k.maxId);
+                m += k.edges;
+            }
+            int vertices = (n >= 0) ? n : maxId + 1;
+            if (maxId >= vertices) {
+                throw new IllegalArgumentException("Vertex " + maxId + " out of range [0, " + vertices + ")");
+            }
+            if (m > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many edges for a CSR graph: " + m);
+            }
+
+            int[] offsets = new int[vertices + 1];
+            for (Counter k : all) {
+                for (int u = 0, lim = Math.min(vertices, k.degree.length); u < lim; u++) {
+                    offsets[u + 1] += k.degree[u];
+                }
+            }
+            for (int u = 0; u < vertices; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            // Fill pass
+            int[] targets = new int[(int) m];
+            int[] weights = format.weighted() ? new int[(int) m] : null;
+            AtomicIntegerArray cursor = new AtomicIntegerArray(vertices);
+            for (int u = 0; u < vertices; u++) {
+                cursor.set(u, offsets[u]);
+            }
+            forEachChunk(chunks, pool, c -> parseChunk(channel, format, bounds[c], bounds[c + 1], (s, d, w) -> {
+                int slot = cursor.getAndIncrement(s);
+                targets[slot] = d;
+                if (weights != null) {
+                    weights[slot] = w;
+                }
+                if (undirected) {
+                    slot = cursor.getAndIncrement(d);
+                    targets[slot] = s;
+                    if (weights != null) {
+                        weights[slot] = w;
+                    }
+                }
+            }));
+            return new CSRGraph(vertices, offsets, targets, weights);
+        }
+    }
+
+    // Chunk boundaries: bounds[c] is the first byte of chunk c, bounds[chunks] == size
+    static long[] chunkBounds(FileChannel channel, Format format, long size, int chunkBytes) throws IOException {
+        int chunks = (int) Math.max(1, (size + chunkBytes - 1) / chunkBytes);
+        long[] bounds = new long[chunks + 1];
+        for (int c = 1; c < chunks; c++) {
+            bounds[c] = Math.max(bounds[c - 1], format.align(channel, (long) c * chunkBytes, size));
+        }
+        bounds[chunks] = size;
+        return bounds;
+    }
+
+    private static void forEachChunk(int chunks, ForkJoinPool pool, IntConsumer action) {
+        if (pool == null) {
+            for (int c = 0; c < chunks; c++) {
+                action.accept(c);
+            }
+        } else {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(action)).join();
+        }
+    }
+
+    // Maps bytes [from, to) and parses them
+    private static void parseChunk(FileChannel channel, Format format, long from, long to, EdgeSink sink) {
+        if (from == to) {
+            return;
+        }
+        try {
+            format.parse(channel.map(FileChannel.MapMode.READ_ONLY, from, to - from), from, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Per-worker state of the counting pass
+    static class Counter {
+        int[] degree;
+        long edges;
+        int maxId = -1;
+
+        Counter(int capacity) {
+            degree = new int[capacity];
+        }
+
+        void add(int u) {
+            see(u);
+            if (u >= degree.length) {
+                degree = Arrays.copyOf(degree, Math.max(u + 1, degree.length * 2));
+            }
+            degree[u]++;
+            edges++;
+        }
+
+        void see(int v) {
+            if (v < 0) {
+                throw new IllegalArgumentException("Negative vertex id " + v);
+            }
+            if (v > maxId) {
+                maxId = v;
+            }
+        }
+    }
+
+    /**
+     * Writes parallel edge arrays as a binary edge list (the format read by binary()).
+     */
+    public static void writeBinary(Path path, int[] src, int[] dest, int[] wt) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            int record = (wt == null ? 2 : 3) * Integer.BYTES;
+            for (int i = 0; i < src.length; i++) {
+                if (buf.remaining() < record) {
+                    drain(channel, buf);
+                }
+                buf.putInt(src[i]).putInt(dest[i]);
+                if (wt != null) {
+                    buf.putInt(wt[i]);
+                }
+            }
+            drain(channel, buf);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+        buf.clear();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Flights network from CheapestFlights as a CSV file with a header and a comment
+        Path csvFile = Files.createTempFile("flights", ".csv");
+        Path binFile = Files.createTempFile("flights", ".bin");
+        try {
+            Files.write(csvFile, ("# flights: from,to,price\n"
+                    + "src,dest,price\n"
+                    + "0,1,100\n1,2,100\n1,3,600\n2,3,200\n").getBytes(StandardCharsets.US_ASCII));
+            CSRGraph flights = load(csvFile, csv(true));
+            System.out.println("CSV: " + flights.vertexCount() + " vertices, " + flights.edgeCount() + " edges");
+            System.out.println("Cheapest Flight Cost: " + CheapestFlights.cheapestFlight(flights, 0, 3, 1));
+
+            // The same flights as a binary edge list, loaded on the common pool
+            writeBinary(binFile, new int[] {0, 1, 1, 2}, new int[] {1, 2, 3, 3}, new int[] {100, 100, 600, 200});
+            CSRGraph binary = load(binFile, binary(true), 4, false, ForkJoinPool.commonPool());
+            System.out.println("Binary: " + binary.vertexCount() + " vertices, " + binary.edgeCount() + " edges");
+            System.out.println("Cheapest Flight Cost: " + CheapestFlights.cheapestFlight(binary, 0, 3, 1));
+        } finally {
+            Files.deleteIfExists(csvFile);
+            Files.deleteIfExists(binFile);
+        }
+    }
+}
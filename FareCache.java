@@ -0,0 +1,330 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * Caching layer for cheapest-flight queries over a flight network whose fares change.
+ *
+ * A query (src, dest, k) is answered from the fare vector of (src, k): the
+ * cheapest fare from src to every city using at most k stops. A vector is
+ * computed once with CheapestFlightEngine.cheapestFares and then serves every
+ * destination.
+ *
+ * Memory: each vector costs 8 * n bytes plus a fixed overhead. Vectors are
+ * evicted (LRU or LFU) whenever the total would exceed the byte budget.
+ *
+ * Invalidation: a change to flight u -> v (added, removed, or new price) can
+ * only affect routes that use it. Such a route from s takes u -> v after
+ * reaching u, so with at most k stops it needs hops(s, u) <= k. A reverse BFS
+ * from u, limited to the largest cached k, finds hops(s, u) for every nearby
+ * s, and only the entries (s, k) with hops(s, u) <= k are dropped. The BFS
+ * runs on the current network: the flight u -> v never lies on a shortest-hop
+ * path into u, so adding or removing it does not change hops(s, u).
+ *
+ * The network is kept in mutable adjacency lists. The CSR graph behind the
+ * engine is rebuilt lazily, on the first cache miss after a change.
+ *
+ * Thread-safe; all operations synchronize on the cache.
+ */
+public class FareCache {
+    public enum Policy { LRU, LFU }
+
+    static final long ENTRY_OVERHEAD_BYTES = 64;
+
+    private final int n;
+    private final long maxBytes;
+    private final long entryBytes;
+
+    // Mutable network: out-flights with fares, and in-flights (sources only)
+    private final int[][] outTo, outFare, inFrom;
+    private final int[] outSize, inSize;
+    private int flights;
+    private CheapestFlightEngine engine; // null after a change until the next miss
+
+    // Cache entries by key, and in eviction order (first = next victim)
+    private final HashMap<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> order;
+    private long tick;
+
+    // Reverse BFS scratch
+    private final int[] hopStamp, hops, queue;
+    private int epoch;
+
+    private long hits, misses, evictions, invalidations;
+
+    // Cached fare vector of one (source, k)
+    static class Entry {
+        final int src, k;
+        final long[] fares;
+        long uses, lastUse;
+
+        Entry(int src, int k, long[] fares) {
+            this.src = src;
+            this.k = k;
+            this.fares = fares;
+        }
+    }
+
+    /**
+     * @param n        Number of cities.
+     * @param flights  Rows of {src, dest, price}; a later row for the same pair overrides an earlier one.
+     * @param maxBytes Memory budget for cached fare vectors.
+     * @param policy   Eviction policy.
+     */
+    public FareCache(int n, int[][] flights, long maxBytes, Policy policy) {
+        this.n = n;
+        this.maxBytes = maxBytes;
+        this.entryBytes = 8L * n + ENTRY_OVERHEAD_BYTES;
+        this.order = new TreeSet<>(policy == Policy.LRU
+                ? Comparator.<Entry>comparingLong(e -> e.lastUse)
+                : Comparator.<Entry>comparingLong(e -> e.uses).thenComparingLong(e -> e.lastUse));
+        outTo = new int[n][];
+        outFare = new int[n][];
+        inFrom = new int[n][];
+        outSize = new int[n];
+        inSize = new int[n];
+        for (int u = 0; u < n; u++) {
+            outTo[u] = new int[2];
+            outFare[u] = new int[2];
+            inFrom[u] = new int[2];
+        }
+        for (int[] f : flights) {
+            setFlight(f[0], f[1], f[2]);
+        }
+        hopStamp = new int[n];
+        hops = new int[n];
+        queue = new int[n];
+    }
+
+    /**
+     * Cheapest fare from src to dest with at most k stops.
+     *
+     * @return The fare, or -1 if dest is unreachable within k stops.
+     */
+    public synchronized long cheapestFlight(int src, int dest, int k) {
+        checkCity(src);
+        checkCity(dest);
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative stop limit: " + k);
+        }
+        long key = ((long) src << 32) | k;
+        Entry e = entries.get(key);
+        if (e != null) {
+            hits++;
+            order.remove(e);
+            touch(e);
+            order.add(e);
+        } else {
+            misses++;
+            long[] fares = engine().cheapestFares(src, k);
+            if (entryBytes > maxBytes) {
+                return answer(fares, dest); // A single vector does not fit; do not cache
+            }
+            while ((entries.size() + 1) * entryBytes > maxBytes) {
+                Entry victim = order.pollFirst();
+                entries.remove(((long) victim.src << 32) | victim.k);
+                evictions++;
+            }
+            e = new Entry(src, k, fares);
+            touch(e);
+            entries.put(key, e);
+            order.add(e);
+        }
+        return answer(e.fares, dest);
+    }
+
+    /**
+     * Adds flight u -> v or changes its price.
+     *
+     * @return Number of cache entries invalidated.
+     */
+    public synchronized int putFlight(int u, int v, int price) {
+        checkCity(u);
+        checkCity(v);
+        setFlight(u, v, price);
+        engine = null;
+        return invalidate(u);
+    }
+
+    /**
+     * Removes flight u -> v if present.
+     *
+     * @return Number of cache entries invalidated (0 if there was no such flight).
+     */
+    public synchronized int removeFlight(int u, int v) {
+        checkCity(u);
+        checkCity(v);
+        int i = indexOf(outTo[u], outSize[u], v);
+        if (i < 0) {
+            return 0;
+        }
+        // Swap-remove from u's out-list and v's in-list
+        int last = --outSize[u];
+        outTo[u][i] = outTo[u][last];
+        outFare[u][i] = outFare[u][last];
+        int j = indexOf(inFrom[v], inSize[v], u);
+        inFrom[v][j] = inFrom[v][--inSize[v]];
+        flights--;
+        engine = null;
+        return invalidate(u);
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    public synchronized long invalidations() {
+        return invalidations;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Bytes currently accounted to cached fare vectors
+    public synchronized long bytesUsed() {
+        return entries.size() * entryBytes;
+    }
+
+    private static long answer(long[] fares, int dest) {
+        return (fares[dest] == Long.MAX_VALUE) ? -1 : fares[dest];
+    }
+
+    private void touch(Entry e) {
+        e.uses++;
+        e.lastUse = ++tick;
+    }
+
+    private void setFlight(int u, int v, int price) {
+        int i = indexOf(outTo[u], outSize[u], v);
+        if (i >= 0) {
+            outFare[u][i] = price;
+            return;
+        }
+        if (outSize[u] == outTo[u].length) {
+            outTo[u] = Arrays.copyOf(outTo[u], outSize[u] * 2);
+            outFare[u] = Arrays.copyOf(outFare[u], outSize[u] * 2);
+        }
+        outTo[u][outSize[u]] = v;
+        outFare[u][outSize[u]++] = price;
+        if (inSize[v] == inFrom[v].length) {
+            inFrom[v] = Arrays.copyOf(inFrom[v], inSize[v] * 2);
+        }
+        inFrom[v][inSize[v]++] = u;
+        flights++;
+    }
+
+    private static int indexOf(int[] a, int size, int x) {
+        for (int i = 0; i < size; i++) {
+            if (a[i] == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Drops every entry (s, k) with hops(s, u) <= k, where hops is found by a
+     * reverse BFS from u limited to the largest cached k.
+     */
+    private int invalidate(int u) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        int maxK = 0;
+        for (Entry e : entries.values()) {
+            maxK = Math.max(maxK, e.k);
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(hopStamp, 0);
+            epoch = 1;
+        }
+        int head = 0, tail = 0;
+        queue[tail++] = u;
+        hopStamp[u] = epoch;
+        hops[u] = 0;
+        while (head < tail) {
+            int x = queue[head++];
+            if (hops[x] == maxK) {
+                continue; // Sources further away cannot reach u within any cached k
+            }
+            for (int i = 0; i < inSize[x]; i++) {
+                int w = inFrom[x][i];
+                if (hopStamp[w] != epoch) {
+                    hopStamp[w] = epoch;
+                    hops[w] = hops[x] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        int dropped = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry e = it.next();
+            if (hopStamp[e.src] == epoch && hops[e.src] <= e.k) {
+                it.remove();
+                order.remove(e);
+                dropped++;
+            }
+        }
+        invalidations += dropped;
+        return dropped;
+    }
+
+    // Engine over the current network, rebuilt after changes
+    private CheapestFlightEngine engine() {
+        if (engine == null) {
+            int[] src = new int[flights], dest = new int[flights], wt = new int[flights];
+            int m = 0;
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < outSize[u]; i++, m++) {
+                    src[m] = u;
+                    dest[m] = outTo[u][i];
+                    wt[m] = outFare[u][i];
+                }
+            }
+            engine = new CheapestFlightEngine(CSRGraph.fromEdges(n, src, dest, wt));
+        }
+        return engine;
+    }
+
+    private void checkCity(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("City " + v + " out of range [0, " + n + ")");
+        }
+    }
+
+    public static void main(String[] args) {
+        // Flights network from CheapestFlights, plus a separate route 4 -> 5
+        int n = 6;
+        int[][] flights = {
+            {0, 1, 100},
+            {1, 2, 100},
+            {1, 3, 600},
+            {2, 3, 200},
+            {4, 5, 50}
+        };
+        FareCache cache = new FareCache(n, flights, 1 << 20, Policy.LRU);
+        System.out.println("0 -> 3, k = 1: " + cache.cheapestFlight(0, 3, 1));
+        System.out.println("0 -> 2, k = 1: " + cache.cheapestFlight(0, 2, 1) + " (served from cache)");
+        System.out.println("4 -> 5, k = 0: " + cache.cheapestFlight(4, 5, 0));
+
+        // 2 -> 3 gets cheaper: (0, k = 1) reaches 2 in 2 hops > 1 and stays cached, (4, 0) is unrelated
+        System.out.println("Invalidated by 2 -> 3 fare change: " + cache.putFlight(2, 3, 150));
+        // 1 -> 3 gets cheaper: 1 is one hop from 0, so (0, k = 1) is dropped
+        System.out.println("Invalidated by 1 -> 3 fare change: " + cache.putFlight(1, 3, 250));
+        System.out.println("0 -> 3, k = 1: " + cache.cheapestFlight(0, 3, 1));
+        System.out.println("Hits " + cache.hits() + ", misses " + cache.misses() + ", cached " + cache.size()
+                + " vectors (" + cache.bytesUsed() + " bytes)");
+    }
+}
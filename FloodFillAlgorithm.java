@@ -9,6 +9,9 @@ public class FloodFillAlgorithm {
      * @return Modified image after flood fill.
      */
     public int[][] floodFill(int[][] images, int sr, int sc, int color) {
+        if (images[sr][sc] == color) {
+            return images; // Region already has the target color
+        }
         boolean[][] visited = new boolean[images.length][images[0].length];
         helper(images, sr, sc, color, visited, images[sr][sc]);
         return images;
@@ -0,0 +1,79 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Timing harness: recursive FloodFillAlgorithm.floodFill against
+ * ScanlineFloodFill on seeded images.
+ *
+ * Images are random noise of two colors where the seed color covers ~70% of
+ * the pixels. That is above the percolation threshold, so the seed's region
+ * spans most of the image and is very irregular. The recursive
+ * version runs on a thread with a 1 GB stack so that it can finish at all on
+ * the larger sizes; the scanline version needs no such help.
+ *
+ * Usage: java FloodFillBenchmark [maxSide] [repetitions]
+ */
+public class FloodFillBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxSide = (args.length > 0) ? Integer.parseInt(args[0]) : 1024;
+        int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+        System.out.printf("%-8s %16s %16s %16s%n", "side", "recursive ms", "scanline-4 ms", "scanline-8 ms");
+        for (int side = 128; side <= maxSide; side *= 2) {
+            int[] flat = noise(side, 42L);
+            double rec = timeRecursive(flat, side, reps);
+            double scan4 = timeScanline(flat, side, reps, false);
+            double scan8 = timeScanline(flat, side, reps, true);
+            System.out.printf("%-8d %16.3f %16.3f %16.3f%n", side, rec, scan4, scan8);
+        }
+    }
+
+    static int[] noise(int side, long seed) {
+        Random rnd = new Random(seed);
+        int[] flat = new int[side * side];
+        for (int i = 0; i < flat.length; i++) {
+            flat[i] = (rnd.nextInt(10) < 7) ? 1 : 0;
+        }
+        // Seed row: ties the seed pixel (0, 0) into the giant component
+        Arrays.fill(flat, 0, side, 1);
+        return flat;
+    }
+
+    static double timeScanline(int[] source, int side, int reps, boolean eight) {
+        int[] work = new int[source.length];
+        long total = 0;
+        for (int i = 0; i <= reps; i++) {
+            System.arraycopy(source, 0, work, 0, source.length);
+            long start = System.nanoTime();
+            ScanlineFloodFill.fill(work, side, side, 0, 0, 2, eight);
+            if (i > 0) {
+                total += System.nanoTime() - start; // First run is warm-up
+            }
+        }
+        return total / 1e6 / reps;
+    }
+
+    static double timeRecursive(int[] source, int side, int reps) throws InterruptedException {
+        double[] result = new double[1];
+        Thread t = new Thread(null, () -> {
+            FloodFillAlgorithm algo = new FloodFillAlgorithm();
+            long total = 0;
+            for (int i = 0; i <= reps; i++) {
+                int[][] image = new int[side][side];
+                for (int r = 0; r < side; r++) {
+                    System.arraycopy(source, r * side, image[r], 0, side);
+                }
+                long start = System.nanoTime();
+                algo.floodFill(image, 0, 0, 2);
+                if (i > 0) {
+                    total += System.nanoTime() - start;
+                }
+            }
+            result[0] = total / 1e6 / reps;
+        }, "recursive-fill", 1L << 30);
+        t.start();
+        t.join();
+        return result[0];
+    }
+}
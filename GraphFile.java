@@ -0,0 +1,175 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary file format for CSR graphs, designed to be memory-mapped.
+ *
+ * Layout (all values little-endian):
+ *   Header (32 bytes)
+ *     int   magic    = 0x47525343 ("CSRG")
+ *     int   version  = 1
+ *     int   flags    (bit 0 set = weighted)
+ *     int   reserved
+ *     long  n        number of vertices
+ *     long  m        number of edges
+ *   int[n + 1] offsets
+ *   int[m]     targets
+ *   int[m]     weights   (only when weighted)
+ *
+ * write() converts edge lists or an in-memory CSRGraph to this format;
+ * open() maps the file and returns a MappedCSRGraph without copying anything.
+ */
+public class GraphFile {
+    static final int MAGIC = 0x47525343;
+    static final int VERSION = 1;
+    static final int FLAG_WEIGHTED = 1;
+    static final int HEADER_BYTES = 32;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Converts an edge list to a graph file. The CSR is built in memory first
+     * (counting pass + fill pass) and then streamed out.
+     */
+    public static void write(Path path, int n, int[] src, int[] dest, int[] wt) throws IOException {
+        write(path, CSRGraph.fromEdges(n, src, dest, wt));
+    }
+
+    /**
+     * Writes a CSR graph to disk in the graph file format.
+     *
+     * @param path  Destination file (created or truncated).
+     * @param graph Graph to write; may itself be a MappedCSRGraph.
+     */
+    public static void write(Path path, CSRGraph graph) throws IOException {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            // Header
+            buf.putInt(MAGIC);
+            buf.putInt(VERSION);
+            buf.putInt(graph.isWeighted() ? FLAG_WEIGHTED : 0);
+            buf.putInt(0);
+            buf.putLong(n);
+            buf.putLong(m);
+
+            // Offsets section
+            for (int u = 0; u < n; u++) {
+                buf = putInt(channel, buf, graph.start(u));
+            }
+            buf = putInt(channel, buf, m);
+
+            // Targets section
+            for (int e = 0; e < m; e++) {
+                buf = putInt(channel, buf, graph.target(e));
+            }
+
+            // Weights section
+            if (graph.isWeighted()) {
+                for (int e = 0; e < m; e++) {
+                    buf = putInt(channel, buf, graph.weight(e));
+                }
+            }
+
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        }
+    }
+
+    // Appends one int, flushing the buffer to the channel when it is full
+    private static ByteBuffer putInt(FileChannel channel, ByteBuffer buf, int value) throws IOException {
+        if (buf.remaining() < Integer.BYTES) {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            buf.clear();
+        }
+        return buf.putInt(value);
+    }
+
+    /**
+     * Opens a graph file by memory-mapping its sections. Only the header is
+     * read eagerly, so this takes milliseconds regardless of file size.
+     *
+     * @param path The graph file.
+     * @return A read-only graph backed by the mapped file.
+     * @throws IOException If the file is truncated or not a supported graph file.
+     */
+    public static MappedCSRGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Truncated graph file header: " + path);
+                }
+            }
+            header.flip();
+
+            int magic = header.getInt();
+            int version = header.getInt();
+            int flags = header.getInt();
+            header.getInt(); // Reserved
+            long n = header.getLong();
+            long m = header.getLong();
+
+            if (magic != MAGIC) {
+                throw new IOException("Not a graph file (bad magic): " + path);
+            }
+            if (version != VERSION) {
+                throw new IOException("Unsupported graph file version " + version + ": " + path);
+            }
+            if (n < 0 || n >= Integer.MAX_VALUE || m < 0 || m > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt graph file header: " + path);
+            }
+
+            boolean weighted = (flags & FLAG_WEIGHTED) != 0;
+            long expected = HEADER_BYTES + Integer.BYTES * ((n + 1) + m + (weighted ? m : 0));
+            if (channel.size() < expected) {
+                throw new IOException("Truncated graph file: expected " + expected
+                        + " bytes but found " + channel.size() + ": " + path);
+            }
+
+            // Mappings stay valid after the channel is closed
+            long pos = HEADER_BYTES;
+            MappedCSRGraph.MappedIntArray offsets = MappedCSRGraph.MappedIntArray.map(channel, pos, n + 1);
+            pos += Integer.BYTES * (n + 1);
+            MappedCSRGraph.MappedIntArray targets = MappedCSRGraph.MappedIntArray.map(channel, pos, m);
+            pos += Integer.BYTES * m;
+            MappedCSRGraph.MappedIntArray weights = weighted
+                    ? MappedCSRGraph.MappedIntArray.map(channel, pos, m) : null;
+            return new MappedCSRGraph((int) n, (int) m, offsets, targets, weights);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Flights network from CheapestFlights, written to disk and mapped back
+        int n = 4;
+        int[] src = {0, 1, 1, 2};
+        int[] dest = {1, 2, 3, 3};
+        int[] wt = {100, 100, 600, 200};
+
+        Path file = Files.createTempFile("flights", ".csrg");
+        try {
+            write(file, n, src, dest, wt);
+            MappedCSRGraph graph = open(file);
+
+            System.out.println("Mapped graph: " + graph.vertexCount() + " vertices, "
+                    + graph.edgeCount() + " edges");
+            System.out.println("Cheapest Flight Cost (mapped): " + CheapestFlights.cheapestFlight(graph, 0, 3, 1));
+            ShortestPath.printDistances(ShortestPath.bellmanFord(graph, 0), 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,509 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Seeded generator for large synthetic graphs, streamed to disk as edge lists.
+ *
+ * Topologies:
+ * - rmat:  R-MAT / Kronecker graph with 2^scale vertices (Graph500 parameters
+ *          a = 0.57, b = c = 0.19 by default), vertex ids scrambled by a bijection
+ *          so that high-degree vertices are not clustered at small ids;
+ * - er:    Erdős–Rényi G(n, m), m uniformly random edges without self-loops;
+ * - grid:  rows x cols lattice with edges in both directions between neighbours;
+ * - hub:   flight-network-like hub-and-spoke graph. Most flights touch one of
+ *          a few hubs (chosen with a skew towards the biggest), the rest link
+ *          two random airports.
+ *
+ * Weights: uniform in [lo, hi] (lo may be negative, which can create negative
+ * cycles), "symmetric" (uniform, equal in both directions of an edge),
+ * exponential, or "potential". The potential model gives
+ * w(u, v) = base + p(u) - p(v) with base >= 0 and p a hashed vertex
+ * potential. About half the edges are negative, but every cycle still has
+ * non-negative weight, so shortest paths stay well defined.
+ *
+ * Output is a binary edge list (EdgeListLoader.binary) or CSV/TSV text
+ * (EdgeListLoader.csv / tsv). Edges are produced in blocks of BLOCK_EDGES, each
+ * from its own seeded random stream, so a window of blocks is generated in
+ * parallel and written in order. The output depends only on the seed, never on
+ * the thread count, and memory use is a few blocks regardless of the edge count.
+ *
+ * Time Complexity: O(E) (O(E * scale) for R-MAT).
+ */
+public class GraphGenerator {
+    static final int BLOCK_EDGES = 1 << 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 22;
+
+    public enum Output { BINARY, CSV, TSV }
+
+    // Edge structure of a graph; edges are generated by index so blocks are independent
+    public interface Topology {
+        int vertices();
+
+        long edges();
+
+        /** Fills src/dest[0, count) with edges firstEdge, firstEdge + 1, ... */
+        void edges(long firstEdge, int count, SplittableRandom rnd, int[] src, int[] dest);
+    }
+
+    // Weight of an edge
+    public interface WeightModel {
+        int weight(int src, int dest, SplittableRandom rnd);
+    }
+
+    /**
+     * R-MAT graph with 2^scale vertices and edgeFactor * 2^scale edges.
+     * Each edge picks one quadrant of the adjacency matrix per bit with
+     * probabilities a, b, c and 1 - a - b - c.
+     */
+    public static Topology rmat(int scale, int edgeFactor, double a, double b, double c) {
+        if (scale < 1 || scale > 30) {
+            throw new IllegalArgumentException("R-MAT scale must be in [1, 30]: " + scale);
+        }
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+            throw new IllegalArgumentException("Invalid R-MAT probabilities");
+        }
+        int n = 1 << scale;
+        long m = (long) edgeFactor * n;
+        double ab = a + b, abc = a + b + c;
+        return new Topology() {
+            public int vertices() {
+                return n;
+            }
+
+            public long edges() {
+                return m;
+            }
+
+            public void edges(long firstEdge, int count, SplittableRandom rnd, int[] src, int[] dest) {
+                for (int i = 0; i < count; i++) {
+                    int u = 0, v = 0;
+                    for (int bit = scale - 1; bit >= 0; bit--) {
+                        double r = rnd.nextDouble();
+                        if (r >= abc) {
+                            u |= 1 << bit;
+                            v |= 1 << bit;
+                        } else if (r >= ab) {
+                            u |= 1 << bit;
+                        } else if (r >= a) {
+                            v |= 1 << bit;
+                        }
+                    }
+                    src[i] = scramble(u, scale);
+                    dest[i] = scramble(v, scale);
+                }
+            }
+        };
+    }
+
+    // R-MAT with the Graph500 parameters
+    public static Topology rmat(int scale, int edgeFactor) {
+        return rmat(scale, edgeFactor, 0.57, 0.19, 0.19);
+    }
+
+    // Erdős–Rényi G(n, m): m edges with independent uniform endpoints, no self-loops
+    public static Topology erdosRenyi(int n, long m) {
+        if (n < 2) {
+            throw new IllegalArgumentException("Need at least two vertices");
+        }
+        return new Topology() {
+            public int vertices() {
+                return n;
+            }
+
+            public long edges() {
+                return m;
+            }
+
+            public void edges(long firstEdge, int count, SplittableRandom rnd, int[] src, int[] dest) {
+                for (int i = 0; i < count; i++) {
+                    int u = rnd.nextInt(n);
+                    int v = rnd.nextInt(n - 1);
+                    src[i] = u;
+                    dest[i] = (v >= u) ? v + 1 : v; // Uniform over v != u
+                }
+            }
+        };
+    }
+
+    /**
+     * rows x cols grid; vertex (r, c) has id r * cols + c. Edge index e encodes
+     * the cell and one of its (up to) four directions, so no randomness is used.
+     */
+    public static Topology grid(int rows, int cols) {
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large: " + rows + " x " + cols);
+        }
+        long horizontal = (long) rows * (cols - 1), vertical = (long) (rows - 1) * cols;
+        long m = 2 * (horizontal + vertical);
+        return new Topology() {
+            public int vertices() {
+                return rows * cols;
+            }
+
+            public long edges() {
+                return m;
+            }
+
+            public void edges(long firstEdge, int count, SplittableRandom rnd, int[] src, int[] dest) {
+                for (int i = 0; i < count; i++) {
+                    long e = firstEdge + i;
+                    boolean reverse = (e & 1) != 0; // Even index: right/down, odd: the opposite direction
+                    long k = e >>> 1;
+                    int u, v;
+                    if (k < horizontal) {
+                        int r = (int) (k / (cols - 1)), c = (int) (k % (cols - 1));
+                        u = r * cols + c;
+                        v = u + 1;
+                    } else {
+                        k -= horizontal;
+                        u = (int) k;
+                        v = u + cols;
+                    }
+                    src[i] = reverse ? v : u;
+                    dest[i] = reverse ? u : v;
+                }
+            }
+        };
+    }
+
+    /**
+     * Hub-and-spoke network of n airports, of which the first 'hubs' are hubs.
+     * A fraction hubShare of the flights connects a random airport with a hub.
+     * Hub h is picked with probability that falls with h (squared uniform), so a
+     * few hubs dominate. The remaining flights connect two random airports.
+     */
+    public static Topology hubAndSpoke(int n, int hubs, long m, double hubShare) {
+        if (hubs < 1 || hubs >= n) {
+            throw new IllegalArgumentException("Need 1 <= hubs < n");
+        }
+        return new Topology() {
+            public int vertices() {
+                return n;
+            }
+
+            public long edges() {
+                return m;
+            }
+
+            public void edges(long firstEdge, int count, SplittableRandom rnd, int[] src, int[] dest) {
+                for (int i = 0; i < count; i++) {
+                    int u, v;
+                    if (rnd.nextDouble() < hubShare) {
+                        double r = rnd.nextDouble();
+                        int hub = (int) (r * r * hubs);
+                        int spoke = rnd.nextInt(n - 1);
+                        spoke = (spoke >= hub) ? spoke + 1 : spoke;
+                        boolean outbound = rnd.nextBoolean();
+                        u = outbound ? hub : spoke;
+                        v = outbound ? spoke : hub;
+                    } else {
+                        u = rnd.nextInt(n);
+                        v = rnd.nextInt(n - 1);
+                        v = (v >= u) ? v + 1 : v;
+                    }
+                    src[i] = u;
+                    dest[i] = v;
+                }
+            }
+        };
+    }
+
+    // Uniform weights in [lo, hi]
+    public static WeightModel uniform(int lo, int hi) {
+        if (lo > hi) {
+            throw new IllegalArgumentException("Empty weight range [" + lo + ", " + hi + "]");
+        }
+        long span = (long) hi - lo + 1;
+        return (s, d, rnd) -> (int) (lo + rnd.nextLong(span));
+    }
+
+    /**
+     * Uniform weights in [lo, hi] that depend only on the unordered pair
+     * {src, dest}, so both directions of an edge get the same weight. Use it
+     * where the edge list stands for an undirected graph (grid writes both
+     * directions of every lattice edge).
+     */
+    public static WeightModel symmetric(int lo, int hi, long seed) {
+        if (lo > hi) {
+            throw new IllegalArgumentException("Empty weight range [" + lo + ", " + hi + "]");
+        }
+        long span = (long) hi - lo + 1;
+        return (s, d, rnd) -> {
+            long pair = ((long) Math.min(s, d) << 32) | Math.max(s, d);
+            return (int) (lo + Long.remainderUnsigned(mix(seed ^ mix(pair)), span));
+        };
+    }
+
+    // Exponentially distributed weights with the given mean, at least 1
+    public static WeightModel exponential(double mean) {
+        return (s, d, rnd) -> 1 + (int) Math.min(Integer.MAX_VALUE - 1, -mean * Math.log(1 - rnd.nextDouble()));
+    }
+
+    /**
+     * w(u, v) = base + p(u) - p(v) with base uniform in [lo, hi] (lo >= 0) and
+     * p(v) in [0, maxPotential] derived from a hash of (seed, v). Any cycle sums
+     * to the sum of its base weights, so no negative cycle can occur.
+     */
+    public static WeightModel potentialShifted(int lo, int hi, int maxPotential, long seed) {
+        if (lo < 0) {
+            throw new IllegalArgumentException("Base weights must be non-negative");
+        }
+        WeightModel base = uniform(lo, hi);
+        return (s, d, rnd) -> base.weight(s, d, rnd) + potential(s, maxPotential, seed) - potential(d, maxPotential, seed);
+    }
+
+    private static int potential(int v, int maxPotential, long seed) {
+        return (int) Long.remainderUnsigned(mix(seed + v), maxPotential + 1L);
+    }
+
+    /**
+     * Generates the graph and writes it to path.
+     *
+     * @param path     Destination file (created or truncated).
+     * @param topology Edge structure.
+     * @param weights  Weight model, or null for an unweighted edge list.
+     * @param output   File format.
+     * @param seed     Random seed; equal seeds give identical files.
+     * @return Number of edges written.
+     */
+    public static long write(Path path, Topology topology, WeightModel weights, Output output, long seed)
+            throws IOException {
+        long m = topology.edges();
+        long blocks = (m + BLOCK_EDGES - 1) / BLOCK_EDGES;
+        int window = Math.max(1, Runtime.getRuntime().availableProcessors() * 2);
+        Block[] slots = new Block[window];
+        for (int i = 0; i < window; i++) {
+            slots[i] = new Block(weights != null);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (long first = 0; first < blocks; first += window) {
+                long firstBlock = first;
+                int inWindow = (int) Math.min(window, blocks - first);
+                // Generate a window of blocks in parallel ...
+                IntStream.range(0, inWindow).parallel().forEach(i -> {
+                    long block = firstBlock + i;
+                    long firstEdge = block * BLOCK_EDGES;
+                    slots[i].fill(topology, weights, firstEdge, (int) Math.min(BLOCK_EDGES, m - firstEdge),
+                            new SplittableRandom(mix(seed ^ mix(block))));
+                });
+                // ... and write it in block order
+                for (int i = 0; i < inWindow; i++) {
+                    buf = slots[i].writeTo(channel, buf, output);
+                }
+            }
+            drain(channel, buf);
+        }
+        return m;
+    }
+
+    // Reusable buffers for one block of edges
+    static class Block {
+        final int[] src = new int[BLOCK_EDGES], dest = new int[BLOCK_EDGES];
+        final int[] wt;
+        int count;
+
+        Block(boolean weighted) {
+            wt = weighted ? new int[BLOCK_EDGES] : null;
+        }
+
+        void fill(Topology topology, WeightModel weights, long firstEdge, int count, SplittableRandom rnd) {
+            this.count = count;
+            topology.edges(firstEdge, count, rnd, src, dest);
+            if (weights != null) {
+                for (int i = 0; i < count; i++) {
+                    wt[i] = weights.weight(src[i], dest[i], rnd);
+                }
+            }
+        }
+
+        ByteBuffer writeTo(FileChannel channel, ByteBuffer buf, Output output) throws IOException {
+            byte sep = (output == Output.TSV) ? (byte) '\t' : (byte) ',';
+            for (int i = 0; i < count; i++) {
+                if (buf.remaining() < 3 * 12) { // Room for a record in any format
+                    drain(channel, buf);
+                }
+                if (output == Output.BINARY) {
+                    buf.putInt(src[i]).putInt(dest[i]);
+                    if (wt != null) {
+                        buf.putInt(wt[i]);
+                    }
+                } else {
+                    putDecimal(buf, src[i]);
+                    buf.put(sep);
+                    putDecimal(buf, dest[i]);
+                    if (wt != null) {
+                        buf.put(sep);
+                        putDecimal(buf, wt[i]);
+                    }
+                    buf.put((byte) '\n');
+                }
+            }
+            return buf;
+        }
+    }
+
+    // Writes value in decimal ASCII without creating a String
+    static void putDecimal(ByteBuffer buf, int value) {
+        long v = value;
+        if (v < 0) {
+            buf.put((byte) '-');
+            v = -v;
+        }
+        long div = 1;
+        while (div * 10 <= v) {
+            div *= 10;
+        }
+        for (; div > 0; div /= 10) {
+            buf.put((byte) ('0' + v / div % 10));
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+        buf.clear();
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Bijection on [0, 2^bits): odd multiplications and xor-shifts are invertible mod 2^bits
+    static int scramble(int v, int bits) {
+        long mask = (1L << bits) - 1;
+        long x = v;
+        x = (x * 0x9E3779B97F4A7C15L) & mask;
+        x ^= x >>> Math.max(1, bits / 2);
+        x = (x * 0xC2B2AE3D27D4EB4FL) & mask;
+        return (int) x;
+    }
+
+    /**
+     * Command line: java GraphGenerator --family rmat|er|grid|hub --out FILE
+     *   [--n N] [--m M] [--scale S] [--edge-factor F] [--rows R --cols C] [--hubs H]
+     *   [--weights none|uniform|symmetric|exp|potential] [--lo L] [--hi H]
+     *   [--format binary|csv|tsv] [--seed X]
+     * Without arguments, runs a small demo of every family.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            demo();
+            return;
+        }
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opts.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        long seed = Long.parseLong(opts.getOrDefault("seed", "1"));
+        int n = Integer.parseInt(opts.getOrDefault("n", "1000000"));
+        long m = Long.parseLong(opts.getOrDefault("m", String.valueOf(8L * n)));
+        Topology topology;
+        switch (opts.getOrDefault("family", "rmat")) {
+            case "rmat":
+                topology = rmat(Integer.parseInt(opts.getOrDefault("scale", "20")),
+                        Integer.parseInt(opts.getOrDefault("edge-factor", "16")));
+                break;
+            case "er":
+                topology = erdosRenyi(n, m);
+                break;
+            case "grid":
+                topology = grid(Integer.parseInt(opts.getOrDefault("rows", "1000")),
+                        Integer.parseInt(opts.getOrDefault("cols", "1000")));
+                break;
+            case "hub":
+                topology = hubAndSpoke(n, Integer.parseInt(opts.getOrDefault("hubs", "30")), m, 0.8);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown family: " + opts.get("family"));
+        }
+        int lo = Integer.parseInt(opts.getOrDefault("lo", "1"));
+        int hi = Integer.parseInt(opts.getOrDefault("hi", "100"));
+        WeightModel weights;
+        switch (opts.getOrDefault("weights", "uniform")) {
+            case "none":
+                weights = null;
+                break;
+            case "uniform":
+                weights = uniform(lo, hi);
+                break;
+            case "symmetric":
+                weights = symmetric(lo, hi, seed);
+                break;
+            case "exp":
+                weights = exponential((lo + hi) / 2.0);
+                break;
+            case "potential":
+                weights = potentialShifted(Math.max(0, lo), hi, 10 * hi, seed);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown weight model: " + opts.get("weights"));
+        }
+        Output output = Output.valueOf(opts.getOrDefault("format", "binary").toUpperCase());
+        Path out = Paths.get(opts.getOrDefault("out", "graph.bin"));
+
+        long start = System.nanoTime();
+        long edges = write(out, topology, weights, output, seed);
+        System.out.printf("Wrote %d vertices, %d edges to %s (%d MB) in %.1f s%n", topology.vertices(), edges,
+                out, Files.size(out) >> 20, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void demo() throws IOException {
+        Path file = Files.createTempFile("generated", ".bin");
+        try {
+            // Negative edges without negative cycles: Bellman-Ford must find no cycle
+            Topology er = erdosRenyi(10_000, 80_000);
+            write(file, er, potentialShifted(1, 100, 1000, 7), Output.BINARY, 7);
+            CSRGraph graph = EdgeListLoader.load(file, EdgeListLoader.binary(true), er.vertices(), false, null);
+            int negative = 0;
+            for (int e = 0; e < graph.edgeCount(); e++) {
+                negative += (graph.weight(e) < 0) ? 1 : 0;
+            }
+            System.out.println("er: " + graph.edgeCount() + " edges, " + negative + " negative, negative cycle: "
+                    + ParallelBellmanFord.bellmanFord(graph, 0).hasNegativeCycle());
+
+            Topology rmat = rmat(16, 16);
+            write(file, rmat, null, Output.BINARY, 7);
+            graph = EdgeListLoader.load(file, EdgeListLoader.binary(false), rmat.vertices(), false, null);
+            int maxDegree = 0;
+            for (int u = 0; u < graph.vertexCount(); u++) {
+                maxDegree = Math.max(maxDegree, graph.degree(u));
+            }
+            System.out.println("rmat: " + graph.edgeCount() + " edges, max out-degree " + maxDegree
+                    + ", " + TarjanSCC.components(graph).count + " SCCs");
+
+            Topology grid = grid(300, 300);
+            // Symmetric weights: both directions of a lattice edge weigh the same, so the graph is undirected
+            write(file, grid, symmetric(1, 9, 7), Output.CSV, 7);
+            graph = EdgeListLoader.load(file, EdgeListLoader.csv(true), grid.vertices(), false, null);
+            System.out.println("grid: " + graph.edgeCount() + " edges, MST weight "
+                    + MinimumSpanningTree.primsIndexed(graph).cost);
+
+            Topology hub = hubAndSpoke(2000, 20, 20_000, 0.8);
+            write(file, hub, exponential(150), Output.TSV, 7);
+            graph = EdgeListLoader.load(file, EdgeListLoader.tsv(true), hub.vertices(), false, null);
+            System.out.println("hub: " + graph.edgeCount() + " flights, hub 0 has " + graph.degree(0)
+                    + " departures; cheapest 1500 -> 1999 within 2 stops: "
+                    + CheapestFlights.cheapestFlight(graph, 1500, 1999, 2));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Hot-path counters and phase timings for the graph algorithms.
+ *
+ * Collection is off unless the JVM starts with -Dgraph.metrics=true. ENABLED
+ * is a static final constant, so when it is false the JIT removes every
+ * "if (GraphMetrics.ENABLED)" block, and instrumented code runs exactly like
+ * uninstrumented code.
+ *
+ * When enabled:
+ * - Counters are striped LongAdders, cheap to update from many threads.
+ *   Algorithms count into locals inside their loops and hand them to their
+ *   Run once per pass or per run (Run.add), so the adders are not touched
+ *   per edge.
+ * - start() opens a Run. Run.add() records a count on the run and adds it to
+ *   the global counter. phase() marks phase boundaries, and end() adds the
+ *   wall time of each phase to the per-"algorithm.phase" totals. end() also
+ *   returns the run's own counts, which stay exact when runs overlap on
+ *   other threads.
+ * - Each run is emitted as a JFR event ("graph.AlgorithmRun", with one
+ *   "graph.AlgorithmPhase" event per phase) when a recording is active.
+ * - The totals are exposed through JMX as graph:type=GraphMetrics.
+ */
+public final class GraphMetrics {
+    /** Master switch, fixed at startup by -Dgraph.metrics=true. */
+    public static final boolean ENABLED = Boolean.getBoolean("graph.metrics");
+
+    public enum Counter {
+        EDGES_RELAXED,   // Edge relaxations attempted
+        HEAP_PUSHES,     // Heap inserts (including decrease-key inserts)
+        HEAP_POPS,       // Heap removals
+        STALE_SKIPPED,   // Popped heap entries that were already settled
+        UNION_CALLS,
+        FIND_CALLS,
+        FIND_STEPS,      // Parent links followed by find; FIND_STEPS / FIND_CALLS is the mean path depth
+        PASSES           // Relaxation passes / BFS levels executed
+    }
+
+    private static final LongAdder[] COUNTERS = new LongAdder[Counter.values().length];
+    private static final ConcurrentHashMap<String, LongAdder> PHASE_NANOS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LongAdder> RUNS = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < COUNTERS.length; i++) {
+            COUNTERS[i] = new LongAdder();
+        }
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(new Bean(), new ObjectName("graph:type=GraphMetrics"));
+            } catch (JMException e) {
+                System.err.println("GraphMetrics: JMX registration failed: " + e);
+            }
+        }
+    }
+
+    private GraphMetrics() {
+    }
+
+    // Adds delta to a counter; call only inside "if (GraphMetrics.ENABLED)"
+    public static void add(Counter counter, long delta) {
+        COUNTERS[counter.ordinal()].add(delta);
+    }
+
+    public static long get(Counter counter) {
+        return COUNTERS[counter.ordinal()].sum();
+    }
+
+    // Current value of every counter
+    public static Map<Counter, Long> snapshot() {
+        Map<Counter, Long> map = new EnumMap<>(Counter.class);
+        for (Counter c : Counter.values()) {
+            map.put(c, get(c));
+        }
+        return map;
+    }
+
+    // Total wall time per "algorithm.phase", in nanoseconds
+    public static Map<String, Long> phaseNanos() {
+        return sums(PHASE_NANOS);
+    }
+
+    // Number of completed runs per algorithm
+    public static Map<String, Long> runs() {
+        return sums(RUNS);
+    }
+
+    public static void reset() {
+        for (LongAdder a : COUNTERS) {
+            a.reset();
+        }
+        PHASE_NANOS.clear();
+        RUNS.clear();
+    }
+
+    private static Map<String, Long> sums(ConcurrentHashMap<String, LongAdder> map) {
+        Map<String, Long> out = new LinkedHashMap<>();
+        map.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+
+    /**
+     * Opens a run of the named algorithm; its first phase is "run" until
+     * phase() is called. Call only inside "if (GraphMetrics.ENABLED)".
+     */
+    public static Run start(String algorithm) {
+        return new Run(algorithm, "run");
+    }
+
+    // Same as start(algorithm), with the name of the first phase
+    public static Run start(String algorithm, String firstPhase) {
+        return new Run(algorithm, firstPhase);
+    }
+
+    // One algorithm invocation
+    public static final class Run {
+        private final String algorithm;
+        private final long[] counts = new long[COUNTERS.length]; // This run's own counts
+        private final long startNanos;
+        private final RunEvent event = new RunEvent();
+        private String phase;
+        private long phaseStart;
+        private PhaseEvent phaseEvent;
+
+        Run(String algorithm, String firstPhase) {
+            this.algorithm = algorithm;
+            this.phase = firstPhase;
+            event.begin();
+            startNanos = phaseStart = System.nanoTime();
+            phaseEvent = beginPhase();
+        }
+
+        // Records delta on this run and adds it to the global counter
+        public void add(Counter counter, long delta) {
+            counts[counter.ordinal()] += delta;
+            GraphMetrics.add(counter, delta);
+        }
+
+        // Ends the current phase and starts the named one
+        public void phase(String name) {
+            closePhase(System.nanoTime());
+            phase = name;
+            phaseStart = System.nanoTime();
+            phaseEvent = beginPhase();
+        }
+
+        /**
+         * Closes the run and records its timings.
+         *
+         * @return Counts recorded on this run plus its wall time in nanoseconds under "WALL_NANOS".
+         */
+        public Map<String, Long> end() {
+            long now = System.nanoTime();
+            closePhase(now);
+            RUNS.computeIfAbsent(algorithm, k -> new LongAdder()).increment();
+
+            Map<String, Long> report = new LinkedHashMap<>();
+            for (Counter c : Counter.values()) {
+                report.put(c.name(), counts[c.ordinal()]);
+            }
+            report.put("WALL_NANOS", now - startNanos);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.edgesRelaxed = counts[Counter.EDGES_RELAXED.ordinal()];
+                event.heapPushes = counts[Counter.HEAP_PUSHES.ordinal()];
+                event.heapPops = counts[Counter.HEAP_POPS.ordinal()];
+                event.staleSkipped = counts[Counter.STALE_SKIPPED.ordinal()];
+                event.unionCalls = counts[Counter.UNION_CALLS.ordinal()];
+                event.findCalls = counts[Counter.FIND_CALLS.ordinal()];
+                event.findSteps = counts[Counter.FIND_STEPS.ordinal()];
+                event.passes = counts[Counter.PASSES.ordinal()];
+                event.commit();
+            }
+            return report;
+        }
+
+        private PhaseEvent beginPhase() {
+            PhaseEvent e = new PhaseEvent();
+            e.begin();
+            return e;
+        }
+
+        private void closePhase(long now) {
+            PHASE_NANOS.computeIfAbsent(algorithm + "." + phase, k -> new LongAdder()).add(now - phaseStart);
+            phaseEvent.end();
+            if (phaseEvent.shouldCommit()) {
+                phaseEvent.algorithm = algorithm;
+                phaseEvent.phase = phase;
+                phaseEvent.commit();
+            }
+        }
+    }
+
+    @Name("graph.AlgorithmRun")
+    @Label("Graph Algorithm Run")
+    @Category("Graph")
+    @Description("One invocation of a graph algorithm with its own counts")
+    static class RunEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Edges Relaxed")
+        long edgesRelaxed;
+        @Label("Heap Pushes")
+        long heapPushes;
+        @Label("Heap Pops")
+        long heapPops;
+        @Label("Stale Entries Skipped")
+        long staleSkipped;
+        @Label("Union Calls")
+        long unionCalls;
+        @Label("Find Calls")
+        long findCalls;
+        @Label("Find Steps")
+        long findSteps;
+        @Label("Passes")
+        long passes;
+    }
+
+    @Name("graph.AlgorithmPhase")
+    @Label("Graph Algorithm Phase")
+    @Category("Graph")
+    static class PhaseEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Phase")
+        String phase;
+    }
+
+    // JMX view of the totals
+    public interface GraphMetricsMXBean {
+        Map<String, Long> getCounters();
+
+        Map<String, Long> getPhaseNanos();
+
+        Map<String, Long> getRuns();
+
+        void reset();
+    }
+
+    static class Bean implements GraphMetricsMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> out = new LinkedHashMap<>();
+            snapshot().forEach((c, v) -> out.put(c.name(), v));
+            return out;
+        }
+
+        @Override
+        public Map<String, Long> getPhaseNanos() {
+            return phaseNanos();
+        }
+
+        @Override
+        public Map<String, Long> getRuns() {
+            return runs();
+        }
+
+        @Override
+        public void reset() {
+            GraphMetrics.reset();
+        }
+    }
+
+    public static void main(String[] args) {
+        if (!ENABLED) {
+            System.out.println("Metrics are off; run with -Dgraph.metrics=true to collect them.");
+            return;
+        }
+        CSRGraph graph = BenchmarkSuite.workload("random", 20_000).undirected;
+        System.out.println("cheapestFlight: " + CheapestFlights.cheapestFlight(graph, 0, 19_999, 5));
+        ShortestPath.bellmanFord(BenchmarkSuite.workload("random", 2_000).directed, 0);
+        MinimumSpanningTree.prims(graph);
+        MinimumSpanningTree.primsIndexed(graph);
+        BenchmarkSuite.Workload w = BenchmarkSuite.workload("powerlaw", 20_000);
+        ParallelKruskal.kruskal(w.n, w.src, w.dest, w.wt);
+
+        System.out.println("Counters: " + snapshot());
+        System.out.println("Runs:     " + runs());
+        phaseNanos().forEach((phase, nanos) -> System.out.printf("  %-28s %10.3f ms%n", phase, nanos / 1e6));
+    }
+}
@@ -0,0 +1,317 @@
+import java.util.Arrays;
+
+/**
+ * Maintains the strongly connected components of a graph while edges are added.
+ *
+ * The state is the condensation DAG plus a topological order of its nodes.
+ * Each new edge u -> v between components a = comp(u) and b = comp(v):
+ * - a == b, or a already precedes b in the order: nothing changes except
+ *   recording the edge;
+ * - b precedes a: only the nodes ordered between b and a can be affected
+ *   (Pearce-Kelly). A forward search from b and a backward search from a, both
+ *   limited to that window, find
+ *     F = nodes reachable from b, B = nodes that reach a.
+ *   If a is in F, the new edge closes a cycle and F ∩ B collapses into one
+ *   component. The order slots of F ∪ B are then handed out again: the
+ *   lowest to B \ F, the highest to F \ B (each group keeping its old
+ *   relative order), and the merged node, if any, in between.
+ *
+ * Components are merged with a UnionFind over component ids, so no vertex is
+ * ever relabelled; componentOf(v) resolves the current representative.
+ *
+ * Time Complexity: proportional to the size of the affected window per edge,
+ * never more than O(V + E).
+ */
+public class IncrementalSCC {
+    private final int[] baseComp;  // Component of each vertex when the structure was built
+    private final UnionFind merged; // Merges over the original component ids
+    private int[] ord;              // Topological position of each representative
+    private int[][] outAdj, inAdj;  // DAG adjacency per representative (may hold stale ids)
+    private int[] outSize, inSize;
+    private int components;
+
+    // Search scratch, sized to the number of original components
+    private final int[] stamp;
+    private int epoch;
+    private final boolean[] inF, inB;
+    private int[] stack, fList, bList;
+
+    public IncrementalSCC(CSRGraph graph) {
+        Condensation c = Condensation.of(graph);
+        int k = c.count;
+        baseComp = c.componentOf;
+        merged = new UnionFind(k);
+        components = k;
+        ord = new int[k];
+        outAdj = new int[k][];
+        inAdj = new int[k][];
+        outSize = new int[k];
+        inSize = new int[k];
+        for (int a = 0; a < k; a++) {
+            ord[a] = a; // Condensation ids are already topological
+            outAdj[a] = new int[Math.max(2, c.dag.degree(a))];
+            inAdj[a] = new int[2];
+        }
+        for (int a = 0; a < k; a++) {
+            for (int e = c.dag.start(a), end = c.dag.end(a); e < end; e++) {
+                addArc(a, c.dag.target(e));
+            }
+        }
+        stamp = new int[k];
+        inF = new boolean[k];
+        inB = new boolean[k];
+        stack = new int[k];
+        fList = new int[k];
+        bList = new int[k];
+    }
+
+    // Current component representative of vertex v
+    public int componentOf(int v) {
+        return merged.find(baseComp[v]);
+    }
+
+    public int componentCount() {
+        return components;
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return componentOf(u) == componentOf(v);
+    }
+
+    /**
+     * Adds a batch of edges src[i] -> dest[i].
+     *
+     * @return Number of components that disappeared through merging.
+     */
+    public int addEdges(int[] src, int[] dest) {
+        if (src.length != dest.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        int before = components;
+        for (int i = 0; i < src.length; i++) {
+            addEdge(src[i], dest[i]);
+        }
+        return before - components;
+    }
+
+    // Adds a single edge u -> v
+    public void addEdge(int u, int v) {
+        int a = componentOf(u), b = componentOf(v);
+        if (a == b) {
+            return;
+        }
+        if (ord[a] < ord[b]) {
+            addArc(a, b); // Already consistent with the order
+            return;
+        }
+        int lower = ord[b], upper = ord[a];
+
+        // Forward search from b within the window [ord[b], ord[a]]
+        nextEpoch();
+        int nf = search(b, upper, true, fList);
+        for (int i = 0; i < nf; i++) {
+            inF[fList[i]] = true;
+        }
+        // Backward search from a within the same window
+        nextEpoch();
+        int nb = search(a, lower, false, bList);
+        for (int i = 0; i < nb; i++) {
+            inB[bList[i]] = true;
+        }
+
+        if (inF[a]) {
+            mergeCycle(nf, nb);
+        } else {
+            addArc(a, b);
+            reorder(nf, nb, -1);
+        }
+        for (int i = 0; i < nf; i++) {
+            inF[fList[i]] = false;
+        }
+        for (int i = 0; i < nb; i++) {
+            inB[bList[i]] = false;
+        }
+    }
+
+    /**
+     * DFS from start over representatives, only visiting nodes whose order lies
+     * inside the window. Forward searches stay at or below 'bound'; backward
+     * searches stay at or above it.
+     *
+     * @return Number of nodes found, written to found[].
+     */
+    private int search(int start, int bound, boolean forward, int[] found) {
+        int sp = 0, count = 0;
+        stack[sp++] = start;
+        stamp[start] = epoch;
+        while (sp > 0) {
+            int x = stack[--sp];
+            found[count++] = x;
+            int[] adj = forward ? outAdj[x] : inAdj[x];
+            int size = forward ? outSize[x] : inSize[x];
+            for (int i = 0; i < size; i++) {
+                int y = merged.find(adj[i]);
+                if (y == x || stamp[y] == epoch) {
+                    continue;
+                }
+                if (forward ? ord[y] > bound : ord[y] < bound) {
+                    continue; // Outside the affected window
+                }
+                stamp[y] = epoch;
+                stack[sp++] = y;
+            }
+        }
+        return count;
+    }
+
+    // Collapses F ∩ B into one component and repairs the order
+    private void mergeCycle(int nf, int nb) {
+        int rep = -1;
+        for (int i = 0; i < nf; i++) {
+            int x = fList[i];
+            if (inB[x]) {
+                rep = (rep < 0) ? x : union(rep, x);
+            }
+        }
+        reorder(nf, nb, rep);
+    }
+
+    // Merges representatives x and y, concatenating their adjacency lists
+    private int union(int x, int y) {
+        merged.union(x, y);
+        components--;
+        int r = merged.find(x);
+        int other = (r == x) ? y : x;
+        for (int i = 0; i < outSize[other]; i++) {
+            addOut(r, outAdj[other][i]);
+        }
+        for (int i = 0; i < inSize[other]; i++) {
+            addIn(r, inAdj[other][i]);
+        }
+        outAdj[other] = null;
+        inAdj[other] = null;
+        outSize[other] = inSize[other] = 0;
+        return r;
+    }
+
+    /**
+     * Reassigns the order slots used by F ∪ B: B \ F first, then the merged
+     * node (if any), then F \ B, each group sorted by its old order.
+     * Slots left over after a merge stay unused; ord only needs to be increasing.
+     */
+    private void reorder(int nf, int nb, int rep) {
+        int[] slots = new int[nf + nb];
+        int ns = 0;
+        long[] bKeys = new long[nb], fKeys = new long[nf];
+        int bn = 0, fn = 0;
+        for (int i = 0; i < nb; i++) {
+            int x = bList[i];
+            slots[ns++] = ord[x];
+            if (!inF[x]) {
+                bKeys[bn++] = ((long) ord[x] << 32) | x;
+            }
+        }
+        for (int i = 0; i < nf; i++) {
+            int x = fList[i];
+            if (!inB[x]) {
+                slots[ns++] = ord[x];
+                fKeys[fn++] = ((long) ord[x] << 32) | x;
+            }
+        }
+        Arrays.sort(slots, 0, ns);
+        Arrays.sort(bKeys, 0, bn);
+        Arrays.sort(fKeys, 0, fn);
+
+        // B \ F takes the lowest slots and F \ B the highest, so no node of either
+        // group moves past a neighbour outside the window; a merged node sits between
+        for (int i = 0; i < bn; i++) {
+            ord[(int) bKeys[i]] = slots[i];
+        }
+        if (rep >= 0) {
+            ord[merged.find(rep)] = slots[bn];
+        }
+        for (int i = 0; i < fn; i++) {
+            ord[(int) fKeys[i]] = slots[ns - fn + i];
+        }
+    }
+
+    private void addArc(int from, int to) {
+        addOut(from, to);
+        addIn(to, from);
+    }
+
+    private void addOut(int from, int to) {
+        if (outSize[from] == outAdj[from].length) {
+            outAdj[from] = Arrays.copyOf(outAdj[from], outSize[from] * 2);
+        }
+        outAdj[from][outSize[from]++] = to;
+    }
+
+    private void addIn(int to, int from) {
+        if (inSize[to] == inAdj[to].length) {
+            inAdj[to] = Arrays.copyOf(inAdj[to], inSize[to] * 2);
+        }
+        inAdj[to][inSize[to]++] = from;
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Snapshot of the current condensation, with components renumbered
+     * 0..count-1 in topological order and deduplicated DAG edges.
+     */
+    public Condensation condensation() {
+        int k = ord.length;
+        // Representatives sorted by their order give the topological numbering
+        long[] reps = new long[components];
+        int r = 0;
+        for (int x = 0; x < k; x++) {
+            if (merged.find(x) == x) {
+                reps[r++] = ((long) ord[x] << 32) | x;
+            }
+        }
+        Arrays.sort(reps);
+        int[] topo = new int[k];
+        for (int i = 0; i < r; i++) {
+            topo[(int) reps[i]] = i;
+        }
+
+        int[] componentOf = new int[baseComp.length];
+        for (int v = 0; v < baseComp.length; v++) {
+            componentOf[v] = topo[componentOf(v)];
+        }
+
+        int m = 0;
+        for (int x = 0; x < k; x++) {
+            m += outSize[x];
+        }
+        long[] pairs = new long[m];
+        int p = 0;
+        for (int x = 0; x < k; x++) {
+            for (int i = 0; i < outSize[x]; i++) {
+                int from = topo[merged.find(x)], to = topo[merged.find(outAdj[x][i])];
+                if (from != to) {
+                    pairs[p++] = Condensation.pack(from, to);
+                }
+            }
+        }
+        return new Condensation(componentOf, components, Condensation.dagFromPairs(components, pairs, p));
+    }
+
+    public static void main(String[] args) {
+        // Graph from StronglyConnectedComponent.createGraph: {0, 1, 2} -> {3} -> {4}
+        CSRGraph graph = CSRGraph.fromEdges(5, new int[][] { {0, 2}, {0, 3}, {1, 0}, {2, 1}, {3, 4} });
+        IncrementalSCC scc = new IncrementalSCC(graph);
+        System.out.println("Components: " + scc.componentCount());
+
+        // Edge 4 -> 1 closes the cycle 1 -> 0 -> 3 -> 4 -> 1, merging everything
+        int mergedAway = scc.addEdges(new int[] {4}, new int[] {1});
+        System.out.println("After adding 4 -> 1: " + scc.componentCount() + " component(s), "
+                + mergedAway + " merged away");
+    }
+}
@@ -0,0 +1,149 @@
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over the items 0..capacity-1, keyed by long.
+ *
+ * Unlike java.util.PriorityQueue, every item appears at most once: lowering
+ * the key of an item already in the heap moves it up in place (decrease-key)
+ * instead of adding a second, stale entry. The heap therefore never holds
+ * more than capacity entries, and no objects are allocated per operation.
+ *
+ * Time Complexity:
+ * - insert / decreaseKey: O(log_d n)
+ * - pollMin:              O(d * log_d n)
+ */
+public class IndexedMinHeap {
+    private final int arity;
+    private final int[] heap;  // heap[i] = item stored at heap slot i
+    private final int[] pos;   // pos[item] = slot of item, or -1 if not in the heap
+    private final long[] keys; // keys[item] = current key of item
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this(capacity, 4);
+    }
+
+    public IndexedMinHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int item) {
+        return pos[item] >= 0;
+    }
+
+    // Current key of an item that is in the heap
+    public long key(int item) {
+        return keys[item];
+    }
+
+    // Item with the smallest key (heap must not be empty)
+    public int peek() {
+        return heap[0];
+    }
+
+    // Removes every item; O(size) rather than O(capacity)
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Inserts item with the given key, or lowers its key if it is already present
+     * with a larger one.
+     *
+     * @return true if the heap changed.
+     */
+    public boolean insertOrDecrease(int item, long key) {
+        int slot = pos[item];
+        if (slot < 0) {
+            keys[item] = key;
+            heap[size] = item;
+            pos[item] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[item]) {
+            keys[item] = key;
+            siftUp(slot);
+            return true;
+        }
+        return false;
+    }
+
+    // Removes and returns the item with the smallest key
+    public int pollMin() {
+        int min = heap[0];
+        pos[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int slot) {
+        int item = heap[slot];
+        long key = keys[item];
+        while (slot > 0) {
+            int parent = (slot - 1) / arity;
+            int p = heap[parent];
+            if (keys[p] <= key) {
+                break;
+            }
+            heap[slot] = p;
+            pos[p] = slot;
+            slot = parent;
+        }
+        heap[slot] = item;
+        pos[item] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int item = heap[slot];
+        long key = keys[item];
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            // Find the smallest child
+            int best = first;
+            long bestKey = keys[heap[first]];
+            for (int c = first + 1, end = Math.min(first + arity, size); c < end; c++) {
+                long k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (bestKey >= key) {
+                break;
+            }
+            int child = heap[best];
+            heap[slot] = child;
+            pos[child] = slot;
+            slot = best;
+        }
+        heap[slot] = item;
+        pos[item] = slot;
+    }
+}
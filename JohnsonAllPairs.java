@@ -0,0 +1,150 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Johnson's algorithm for all-pairs shortest paths on graphs with negative edges
+ * (but no negative cycles).
+ *
+ * Approach:
+ * - Step 1: Bellman-Ford from a virtual vertex q with a 0-weight edge to every
+ *   vertex gives a potential h[v] for each vertex.
+ * - Step 2: Every edge is reweighted to w(u,v) + h[u] - h[v], which is never
+ *   negative, so Dijkstra works. The reweighting is done on the fly; the
+ *   graph itself is not copied.
+ * - Step 3: Dijkstra runs from every source in parallel on a ForkJoinPool. Each
+ *   worker handles a block of sources and reuses one distance array and one
+ *   indexed heap for the whole block.
+ * - Step 4: The true distance is d'(u,v) - h[u] + h[v]; rows are written into a
+ *   DistanceMatrix, which may be memory-mapped for very large graphs.
+ *
+ * Time Complexity: O(V * E + V * E log V)
+ */
+public class JohnsonAllPairs {
+    // Sources handled by one leaf task; large enough to amortise scratch buffers
+    static final int SOURCES_PER_TASK = 32;
+
+    // Computes all-pairs distances into an in-memory matrix using the common pool
+    public static DistanceMatrix allPairs(CSRGraph graph) {
+        return allPairs(graph, DistanceMatrix.inMemory(graph.vertexCount()), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes all-pairs shortest distances.
+     *
+     * @param graph  Directed weighted graph, negative weights allowed.
+     * @param out    Matrix that receives row u = distances from u (Long.MAX_VALUE if unreachable).
+     * @param pool   Pool running the per-source Dijkstra searches.
+     * @return The filled matrix (same object as out).
+     * @throws IllegalArgumentException If the graph contains a negative cycle.
+     */
+    public static DistanceMatrix allPairs(CSRGraph graph, DistanceMatrix out, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        if (out.size() != n) {
+            throw new IllegalArgumentException("Matrix size " + out.size() + " does not match graph size " + n);
+        }
+        long[] h = potentials(graph);
+        pool.invoke(new SourceBlock(graph, h, out, 0, n));
+        out.flush();
+        return out;
+    }
+
+    /**
+     * Step 1: Bellman-Ford from a virtual source joined to every vertex by a
+     * 0-weight edge. Starting every distance at 0 is equivalent to relaxing
+     * those virtual edges first, so the augmented graph is never built.
+     */
+    static long[] potentials(CSRGraph graph) {
+        int n = graph.vertexCount();
+        long[] h = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(pred, -1);
+
+        boolean changed = true;
+        for (int pass = 0; changed && pass <= n; pass++) {
+            changed = ParallelBellmanFord.pushPass(graph, h, pred);
+        }
+        if (changed) {
+            throw new IllegalArgumentException("Graph contains a negative cycle");
+        }
+        return h;
+    }
+
+    // Runs Dijkstra for sources [lo, hi), splitting into blocks of SOURCES_PER_TASK
+    static class SourceBlock extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final CSRGraph graph;
+        final long[] h;
+        final DistanceMatrix out;
+        final int lo, hi;
+
+        SourceBlock(CSRGraph graph, long[] h, DistanceMatrix out, int lo, int hi) {
+            this.graph = graph;
+            this.h = h;
+            this.out = out;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > SOURCES_PER_TASK) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new SourceBlock(graph, h, out, lo, mid), new SourceBlock(graph, h, out, mid, hi));
+                return;
+            }
+            int n = graph.vertexCount();
+            long[] dist = new long[n];
+            IndexedMinHeap heap = new IndexedMinHeap(n);
+            for (int s = lo; s < hi; s++) {
+                reweightedDijkstra(graph, h, s, dist, heap);
+                // Undo the reweighting: d(s,v) = d'(s,v) - h[s] + h[v]
+                for (int v = 0; v < n; v++) {
+                    if (dist[v] != Long.MAX_VALUE) {
+                        dist[v] = dist[v] - h[s] + h[v];
+                    }
+                }
+                out.setRow(s, dist);
+            }
+        }
+    }
+
+    // Steps 2 + 3: Dijkstra from src over weights w(u,v) + h[u] - h[v]
+    static void reweightedDijkstra(CSRGraph graph, long[] h, int src, long[] dist, IndexedMinHeap heap) {
+        Arrays.fill(dist, Long.MAX_VALUE);
+        heap.clear();
+        dist[src] = 0;
+        heap.insertOrDecrease(src, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            long du = dist[u];
+            long hu = h[u];
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                long nd = du + graph.weight(e) + hu - h[v];
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    heap.insertOrDecrease(v, nd);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        // Graph from ShortestPath.createGraph2
+        CSRGraph graph = CSRGraph.fromEdges(5, new int[][] {
+            {0, 1, 2}, {0, 2, 4}, {1, 2, -4}, {2, 3, 2}, {3, 4, 4}, {4, 1, -1}
+        });
+
+        DistanceMatrix d = allPairs(graph);
+        System.out.println("All-pairs shortest distances:");
+        for (int u = 0; u < d.size(); u++) {
+            for (int v = 0; v < d.size(); v++) {
+                long x = d.get(u, v);
+                System.out.print((x == Long.MAX_VALUE ? "INF" : String.valueOf(x)) + "\t");
+            }
+            System.out.println();
+        }
+    }
+}
@@ -16,7 +16,7 @@ public class KruskalAlgorithm {
 
         @Override
         public int compareTo(Edge e2) {
-            return this.wt - e2.wt; // Sorting edges based on weight (Ascending order)
+            return Integer.compare(this.wt, e2.wt); // Ascending weight; subtraction could overflow
         }
     }
 
@@ -36,6 +36,7 @@ public class KruskalAlgorithm {
     static int n = 4; // Number of vertices
     static int[] parent = new int[n]; // Parent array for Union-Find
     static int[] rank = new int[n];   // Rank array for Union by Rank optimization
+    static long findSteps;            // Recursion levels of find(), published once per kruskalMST run
 
     /**
      * Initializes the Disjoint Set data structure.
@@ -58,6 +59,9 @@ public class KruskalAlgorithm {
         if (parent[x] == x) {
             return x; // If 'x' is its own leader, return 'x'
         }
+        if (GraphMetrics.ENABLED) {
+            findSteps++; // One per recursion level
+        }
         return parent[x] = find(parent[x]); // Path compression
     }
 
@@ -91,22 +95,37 @@ public class KruskalAlgorithm {
      * @param v     The number of vertices in the graph.
      */
     public static void kruskalMST(ArrayList<Edge> edges, int v) {
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("kruskalMST", "sort") : null;
         init(); // Initialize the disjoint set
         Collections.sort(edges); // Sort edges based on weight (O(E log E))
+        if (GraphMetrics.ENABLED) {
+            run.phase("scan");
+        }
+        long finds = 0, unions = 0;
+        findSteps = 0;
         int mstCost = 0;
         int edgeCount = 0; // To track number of edges included in MST
 
-        for (int i = 0; edgeCount < v - 1; i++) { // MST contains (v-1) edges
+        for (int i = 0; edgeCount < v - 1 && i < edges.size(); i++) { // MST contains (v-1) edges
             Edge e = edges.get(i);
             int rootA = find(e.src);
             int rootB = find(e.dest);
+            finds += 2;
             
             if (rootA != rootB) { // If adding this edge does not form a cycle
                 union(e.src, e.dest);
+                unions++;
+                finds += 2; // union() finds both roots again
                 mstCost += e.wt;
                 edgeCount++; // Increase count of edges in MST
             }
         }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.FIND_CALLS, finds);
+            run.add(GraphMetrics.Counter.UNION_CALLS, unions);
+            run.add(GraphMetrics.Counter.FIND_STEPS, findSteps);
+            run.end();
+        }
         System.out.println("Minimum Spanning Tree Cost: " + mstCost);
     }
 
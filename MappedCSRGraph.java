@@ -0,0 +1,101 @@
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.io.IOException;
+
+/**
+ * A CSRGraph whose offsets, targets and weights are read straight out of a
+ * memory-mapped graph file (see GraphFile). Nothing is copied onto the heap,
+ * so opening a multi-GB graph only costs the mmap calls; pages are faulted in
+ * lazily by the OS as the algorithms touch them.
+ *
+ * Every algorithm that takes a CSRGraph works unchanged on this class,
+ * because all access goes through start/end/target/weight.
+ */
+public class MappedCSRGraph extends CSRGraph {
+    private final MappedIntArray offsetsMap;
+    private final MappedIntArray targetsMap;
+    private final MappedIntArray weightsMap; // null for an unweighted graph
+    private final int m;
+
+    MappedCSRGraph(int n, int m, MappedIntArray offsets, MappedIntArray targets, MappedIntArray weights) {
+        super(n, null, null, null);
+        this.m = m;
+        this.offsetsMap = offsets;
+        this.targetsMap = targets;
+        this.weightsMap = weights;
+    }
+
+    @Override
+    public int edgeCount() {
+        return m;
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return weightsMap != null;
+    }
+
+    @Override
+    public int start(int u) {
+        return offsetsMap.get(u);
+    }
+
+    @Override
+    public int end(int u) {
+        return offsetsMap.get(u + 1L);
+    }
+
+    @Override
+    public int degree(int u) {
+        return end(u) - start(u);
+    }
+
+    @Override
+    public int target(int e) {
+        return targetsMap.get(e);
+    }
+
+    @Override
+    public int weight(int e) {
+        return (weightsMap == null) ? 1 : weightsMap.get(e);
+    }
+
+    /**
+     * A read-only int array backed by one or more mapped regions of a file.
+     * A single MappedByteBuffer is limited to 2 GB, so larger sections are
+     * split into fixed-size chunks of 2^28 ints (1 GB) each.
+     */
+    static class MappedIntArray {
+        static final int CHUNK_SHIFT = 28;
+        static final long CHUNK_INTS = 1L << CHUNK_SHIFT;
+        static final long CHUNK_MASK = CHUNK_INTS - 1;
+
+        private final IntBuffer[] chunks;
+
+        MappedIntArray(IntBuffer[] chunks) {
+            this.chunks = chunks;
+        }
+
+        // Maps 'length' ints starting at byte 'position' of the channel
+        static MappedIntArray map(FileChannel channel, long position, long length) throws IOException {
+            int count = (int) ((length + CHUNK_INTS - 1) >>> CHUNK_SHIFT);
+            IntBuffer[] chunks = new IntBuffer[Math.max(count, 1)];
+            if (count == 0) {
+                chunks[0] = IntBuffer.allocate(0);
+            }
+            for (int i = 0; i < count; i++) {
+                long ints = Math.min(CHUNK_INTS, length - ((long) i << CHUNK_SHIFT));
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position + ((long) i << CHUNK_SHIFT) * Integer.BYTES, ints * Integer.BYTES);
+                chunks[i] = buf.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+            return new MappedIntArray(chunks);
+        }
+
+        int get(long i) {
+            return chunks[(int) (i >>> CHUNK_SHIFT)].get((int) (i & CHUNK_MASK));
+        }
+    }
+}
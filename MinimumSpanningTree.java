@@ -59,13 +59,17 @@ public class MinimumSpanningTree {
         PriorityQueue<Pair> pq = new PriorityQueue<>(); // Min-heap to store the minimum cost edges
         pq.add(new Pair(0, 0)); // Start from vertex 0 with cost 0
         int finalCost = 0; // MST cost
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("prims-lists") : null;
+        long pushes = 1, pops = 0, stale = 0, relaxed = 0;
 
         // Process nodes until all are visited
         while (!pq.isEmpty()) {
             Pair curr = pq.remove(); // Get the smallest weight edge
+            pops++;
 
             // If the node is already visited, continue
             if (visited[curr.v]) {
+                stale++;
                 continue;
             }
 
@@ -78,19 +82,164 @@ public class MinimumSpanningTree {
                 Edge e = graph[curr.v].get(i);
                 if (!visited[e.dest]) {
                     pq.add(new Pair(e.dest, e.wt)); // Add adjacent edges to the priority queue
+                    pushes++;
                 }
             }
+            relaxed += graph[curr.v].size();
+        }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.HEAP_PUSHES, pushes);
+            run.add(GraphMetrics.Counter.HEAP_POPS, pops);
+            run.add(GraphMetrics.Counter.STALE_SKIPPED, stale);
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, relaxed);
+            run.end();
         }
         
         // Print the final MST cost
         System.out.println("Final minimum cost of MST : " + finalCost);
     }
 
+    /**
+     * Prim's Algorithm over an undirected CSR graph (every edge stored in both directions).
+     *
+     * @param graph Undirected weighted graph in CSR form.
+     * @return Total weight of the MST reachable from vertex 0.
+     */
+    public static long prims(CSRGraph graph) {
+        int vertices = graph.vertexCount();
+        boolean[] visited = new boolean[vertices];
+        PriorityQueue<Pair> pq = new PriorityQueue<>();
+        pq.add(new Pair(0, 0));
+        long finalCost = 0;
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("prims") : null;
+        long pushes = 1, pops = 0, stale = 0;
+
+        while (!pq.isEmpty()) {
+            Pair curr = pq.remove();
+            pops++;
+            if (visited[curr.v]) {
+                stale++;
+                continue;
+            }
+            visited[curr.v] = true;
+            finalCost += curr.cost;
+
+            // Scan the contiguous out-edge range of the current vertex
+            for (int e = graph.start(curr.v), end = graph.end(curr.v); e < end; e++) {
+                int dest = graph.target(e);
+                if (!visited[dest]) {
+                    pq.add(new Pair(dest, graph.weight(e)));
+                    pushes++;
+                }
+            }
+        }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.HEAP_PUSHES, pushes);
+            run.add(GraphMetrics.Counter.HEAP_POPS, pops);
+            run.add(GraphMetrics.Counter.STALE_SKIPPED, stale);
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, graph.edgeCount());
+            run.end();
+        }
+        return finalCost;
+    }
+
+    // Result of Prim's algorithm: the tree edges (as parent links) and their total weight
+    static class PrimResult {
+        int[] parent;   // parent[v] = other endpoint of v's tree edge, -1 for a root
+        int[] weight;   // weight[v] = weight of the edge (v, parent[v]), 0 for a root
+        long cost;      // Total weight of the spanning forest
+        int roots;      // Number of trees (1 if the graph is connected)
+
+        PrimResult(int n) {
+            parent = new int[n];
+            weight = new int[n];
+        }
+    }
+
+    /**
+     * Prim's Algorithm backed by an indexed d-ary heap with decrease-key.
+     *
+     * Approach:
+     * - The heap holds each vertex at most once, keyed by the cheapest known edge
+     *   into the tree; a cheaper edge lowers the key in place instead of pushing
+     *   a new Pair. The heap never exceeds V entries and there are no stale
+     *   entries to skip.
+     * - parent[] records which tree vertex offered that cheapest edge, so the
+     *   tree edges are returned, not just the cost.
+     * - Every unvisited vertex starts a new tree, so a disconnected graph gives
+     *   a minimum spanning forest.
+     *
+     * Time Complexity: O(E log V), with no allocation per edge.
+     *
+     * @param graph Undirected weighted graph in CSR form (both directions stored).
+     * @param arity Heap arity; 4 is a good default, larger values suit dense graphs.
+     */
+    public static PrimResult primsIndexed(CSRGraph graph, int arity) {
+        int vertices = graph.vertexCount();
+        PrimResult res = new PrimResult(vertices);
+        boolean[] inTree = new boolean[vertices];
+        IndexedMinHeap heap = new IndexedMinHeap(vertices, arity);
+        java.util.Arrays.fill(res.parent, -1);
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("primsIndexed") : null;
+        long pushes = 0;
+
+        for (int root = 0; root < vertices; root++) {
+            if (inTree[root]) {
+                continue;
+            }
+            res.roots++;
+            heap.insertOrDecrease(root, 0);
+
+            while (!heap.isEmpty()) {
+                int u = heap.pollMin();
+                inTree[u] = true;
+                res.cost += res.weight[u];
+
+                for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                    int v = graph.target(e);
+                    int w = graph.weight(e);
+                    if (!inTree[v] && heap.insertOrDecrease(v, w)) {
+                        res.parent[v] = u; // Cheaper edge into the tree found
+                        res.weight[v] = w;
+                        pushes++;
+                    }
+                }
+            }
+        }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.HEAP_PUSHES, pushes + res.roots); // Decrease-keys count as pushes
+            run.add(GraphMetrics.Counter.HEAP_POPS, vertices); // Every vertex is popped exactly once
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, graph.edgeCount());
+            run.end();
+        }
+        return res;
+    }
+
+    public static PrimResult primsIndexed(CSRGraph graph) {
+        return primsIndexed(graph, 4);
+    }
+
     // Main function
     public static void main(String[] args) {
         int v = 4; // Number of vertices
         ArrayList<Edge>[] graph = new ArrayList[v]; // Graph adjacency list
         createGraph(graph); // Construct the graph
         prims(graph); // Compute MST using Prim’s algorithm
+
+        // Same graph in CSR form (each undirected edge listed once)
+        int[] src = {0, 0, 0, 1, 2};
+        int[] dest = {1, 2, 3, 3, 3};
+        int[] wt = {10, 15, 30, 40, 50};
+        CSRGraph csr = CSRGraph.fromUndirectedEdges(v, src, dest, wt);
+        System.out.println("Final minimum cost of MST (CSR) : " + prims(csr));
+
+        // Indexed-heap Prim's also returns the tree edges
+        PrimResult res = primsIndexed(csr);
+        System.out.println("Final minimum cost of MST (indexed heap) : " + res.cost);
+        for (int i = 0; i < v; i++) {
+            if (res.parent[i] >= 0) {
+                System.out.println("  " + res.parent[i] + " - " + i + " (" + res.weight[i] + ")");
+            }
+        }
     }
 }
@@ -0,0 +1,310 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bellman-Ford single-source shortest paths that
+ * - keeps distances as long (no overflow on distance[u] + wt),
+ * - stops as soon as a pass changes nothing,
+ * - can spread each pass over several cores, and
+ * - reports a negative cycle instead of silently returning wrong distances.
+ *
+ * Parallel approach (pull-based, Jacobi style):
+ * - Each pass reads the previous distance array and writes a fresh one.
+ * - Vertices are split into ranges holding roughly equal numbers of incoming
+ *   edges; a worker owns one range and relaxes every incoming edge of its
+ *   vertices, so no two workers ever write the same entry and no locks are needed.
+ * - The result is deterministic and independent of the number of threads.
+ *
+ * With parallelism 1 the classic in-place (push) relaxation is used instead,
+ * which usually converges in fewer passes.
+ *
+ * Time Complexity: O(V * E) worst case, O(p * E) when shortest paths use at most p edges.
+ */
+public class ParallelBellmanFord {
+
+    // Result of a Bellman-Ford run
+    public static class Result {
+        /** Shortest distance to every vertex: Long.MAX_VALUE if unreachable,
+         *  Long.MIN_VALUE if reachable through a negative cycle. */
+        public final long[] distance;
+        /** Predecessor of every vertex on its shortest path (-1 for the source / unreachable). */
+        public final int[] predecessor;
+        /** Vertices of one negative cycle in path order, or null if there is none. */
+        public final int[] negativeCycle;
+        /** Number of relaxation passes executed (including the detection pass). */
+        public final int passes;
+
+        Result(long[] distance, int[] predecessor, int[] negativeCycle, int passes) {
+            this.distance = distance;
+            this.predecessor = predecessor;
+            this.negativeCycle = negativeCycle;
+            this.passes = passes;
+        }
+
+        public boolean hasNegativeCycle() {
+            return negativeCycle != null;
+        }
+    }
+
+    // Runs single-threaded with early termination
+    public static Result bellmanFord(CSRGraph graph, int src) {
+        return bellmanFord(graph, src, 1, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs Bellman-Ford from src.
+     *
+     * @param graph       Directed weighted graph.
+     * @param src         Source vertex.
+     * @param parallelism Number of edge partitions processed concurrently per pass.
+     * @param pool        Pool that runs the partitions when parallelism > 1.
+     * @return Distances, predecessors and any negative cycle found.
+     */
+    public static Result bellmanFord(CSRGraph graph, int src, int parallelism, ForkJoinPool pool) {
+        int V = graph.vertexCount();
+        if (src < 0 || src >= V) {
+            throw new IllegalArgumentException("Source " + src + " out of range [0, " + V + ")");
+        }
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("bellmanFord-earlyExit") : null;
+        long[] distance = new long[V];
+        int[] pred = new int[V];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        Arrays.fill(pred, -1);
+        distance[src] = 0;
+
+        int passes;
+        boolean changed;
+        if (parallelism <= 1) {
+            passes = 0;
+            changed = true;
+            // Up to V-1 passes to converge, plus one more that must change nothing
+            while (changed && passes < V) {
+                changed = pushPass(graph, distance, pred);
+                passes++;
+            }
+        } else {
+            ParallelPasses pp = new ParallelPasses(graph.transpose(), distance, pred, parallelism);
+            passes = 0;
+            changed = true;
+            while (changed && passes < V) {
+                changed = pp.runPass(pool);
+                passes++;
+            }
+            distance = pp.current;
+        }
+
+        int[] cycle = null;
+        if (changed) {
+            if (GraphMetrics.ENABLED) {
+                run.phase("negativeCycle");
+            }
+            // Still improving after V passes: a negative cycle is reachable from src
+            cycle = findCycle(pred);
+            markNegativeReach(graph, distance);
+        }
+        if (GraphMetrics.ENABLED) {
+            // Every pass examines each edge once
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, (long) passes * graph.edgeCount());
+            run.add(GraphMetrics.Counter.PASSES, passes);
+            run.end();
+        }
+        return new Result(distance, pred, cycle, passes);
+    }
+
+    // One in-place pass over every out-edge; returns true if any distance improved
+    static boolean pushPass(CSRGraph graph, long[] distance, int[] pred) {
+        boolean changed = false;
+        for (int u = 0, V = graph.vertexCount(); u < V; u++) {
+            long du = distance[u];
+            if (du == Long.MAX_VALUE) {
+                continue;
+            }
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                long newDist = du + graph.weight(e);
+                if (newDist < distance[v]) {
+                    distance[v] = newDist;
+                    pred[v] = u;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    // Double-buffered pull passes over vertex ranges of the transposed graph
+    static class ParallelPasses {
+        final CSRGraph in;   // Incoming edges of every vertex
+        final int[] pred;
+        long[] current, next;
+        final Part[] parts;
+
+        ParallelPasses(CSRGraph in, long[] distance, int[] pred, int parallelism) {
+            this.in = in;
+            this.pred = pred;
+            this.current = distance;
+            this.next = new long[distance.length];
+
+            // Balance partitions by (vertices + incoming edges)
+            int V = in.vertexCount();
+            long total = (long) V + in.edgeCount();
+            int count = Math.max(1, Math.min(parallelism, V));
+            parts = new Part[count];
+            int lo = 0;
+            for (int p = 0; p < count; p++) {
+                long goal = total * (p + 1) / count;
+                int hi = (p == count - 1) ? V : lo;
+                while (hi < V && (long) hi + in.start(hi) < goal) {
+                    hi++;
+                }
+                parts[p] = new Part(lo, hi);
+                lo = hi;
+            }
+        }
+
+        boolean runPass(ForkJoinPool pool) {
+            for (Part p : parts) {
+                p.reinitialize();
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(parts);
+                }
+            });
+            long[] t = current; current = next; next = t;
+            boolean changed = false;
+            for (Part p : parts) {
+                changed |= p.changed;
+            }
+            return changed;
+        }
+
+        class Part extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            final int lo, hi;
+            boolean changed;
+
+            Part(int lo, int hi) {
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected void compute() {
+                long[] prev = current, out = next;
+                boolean any = false;
+                for (int v = lo; v < hi; v++) {
+                    long best = prev[v];
+                    int bestPred = -1;
+                    for (int e = in.start(v), end = in.end(v); e < end; e++) {
+                        int u = in.target(e);
+                        long du = prev[u];
+                        if (du != Long.MAX_VALUE && du + in.weight(e) < best) {
+                            best = du + in.weight(e);
+                            bestPred = u;
+                        }
+                    }
+                    out[v] = best;
+                    if (bestPred >= 0) {
+                        pred[v] = bestPred; // Only this partition writes pred[v]
+                        any = true;
+                    }
+                }
+                changed = any;
+            }
+        }
+    }
+
+    /**
+     * Finds a cycle in the predecessor graph. When relaxation has not converged
+     * after V passes, every such cycle has negative total weight.
+     */
+    static int[] findCycle(int[] pred) {
+        int V = pred.length;
+        int[] state = new int[V]; // 0 = new, otherwise (walk id + 1)
+        for (int s = 0; s < V; s++) {
+            if (state[s] != 0) {
+                continue;
+            }
+            int v = s;
+            while (v >= 0 && state[v] == 0) {
+                state[v] = s + 1;
+                v = pred[v];
+            }
+            if (v >= 0 && state[v] == s + 1) {
+                // v lies on a cycle discovered during this walk; collect it
+                int len = 1;
+                for (int x = pred[v]; x != v; x = pred[x]) {
+                    len++;
+                }
+                int[] cycle = new int[len];
+                int x = v;
+                for (int i = len - 1; i >= 0; i--) {
+                    cycle[i] = x;
+                    x = pred[x];
+                }
+                return cycle;
+            }
+        }
+        return new int[0]; // Not expected; signals a cycle without a witness
+    }
+
+    /**
+     * Sets distance to Long.MIN_VALUE for every vertex reachable from a negative cycle.
+     * Every reachable negative cycle still has at least one relaxable edge after V-1
+     * passes, so a search seeded with the heads of all relaxable edges covers them all.
+     */
+    static void markNegativeReach(CSRGraph graph, long[] distance) {
+        int V = graph.vertexCount();
+        int[] queue = new int[V];
+        boolean[] marked = new boolean[V];
+        int head = 0, tail = 0;
+        for (int u = 0; u < V; u++) {
+            if (distance[u] == Long.MAX_VALUE) {
+                continue;
+            }
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                if (!marked[v] && distance[u] + graph.weight(e) < distance[v]) {
+                    marked[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        while (head < tail) {
+            int u = queue[head++];
+            distance[u] = Long.MIN_VALUE;
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                if (!marked[v]) {
+                    marked[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        // Graph from ShortestPath.createGraph2
+        CSRGraph graph = CSRGraph.fromEdges(5, new int[][] {
+            {0, 1, 2}, {0, 2, 4}, {1, 2, -4}, {2, 3, 2}, {3, 4, 4}, {4, 1, -1}
+        });
+
+        Result seq = bellmanFord(graph, 0);
+        System.out.println("Sequential: " + Arrays.toString(seq.distance) + " in " + seq.passes + " passes");
+
+        Result par = bellmanFord(graph, 0, 4, ForkJoinPool.commonPool());
+        System.out.println("Parallel:   " + Arrays.toString(par.distance) + " in " + par.passes + " passes");
+
+        // Lowering 4 -> 1 to -3 makes 1 -> 2 -> 3 -> 4 -> 1 a negative cycle (-4 + 2 + 4 - 3 = -1)
+        CSRGraph cyclic = CSRGraph.fromEdges(5, new int[][] {
+            {0, 1, 2}, {0, 2, 4}, {1, 2, -4}, {2, 3, 2}, {3, 4, 4}, {4, 1, -3}
+        });
+        Result neg = bellmanFord(cyclic, 0, 4, ForkJoinPool.commonPool());
+        System.out.println("Negative cycle: " + Arrays.toString(neg.negativeCycle));
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Borůvka minimum spanning forest over packed primitive edge arrays, run on a
+ * ForkJoinPool.
+ *
+ * Approach: every round
+ * - snapshots the component of each vertex (ConcurrentDisjointSet.find),
+ * - scans the live edges in parallel. Edges inside one component are dropped
+ *   for good, and every other edge offers its key to both endpoint
+ *   components with a CAS-min, so each component learns its cheapest
+ *   outgoing edge,
+ * - hooks every component along its cheapest edge with a concurrent union.
+ * The rounds repeat until no edge leaves a component. The number of
+ * components at least halves each round, so there are at most log2(V) rounds.
+ *
+ * Edges are compared by ParallelKruskal.key(wt, index), weight then index. The
+ * keys are unique, so the cheapest edges never form a cycle and the forest is
+ * exactly the one ParallelKruskal returns. The edges are also reported in an
+ * order (by round, then by component id) that does not depend on the thread
+ * count or on scheduling.
+ *
+ * Time Complexity: O((V + E) log V) work, O(log V) rounds of parallel passes.
+ */
+public class ParallelBoruvka {
+    // Edges per compaction block and vertices per leaf task; fixed so the layout never depends on the pool
+    static final int BLOCK = 1 << 12;
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    public static ParallelKruskal.Result boruvka(int n, int[] src, int[] dest, int[] wt) {
+        return boruvka(n, src, dest, wt, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the minimum spanning forest.
+     *
+     * @param n    Number of vertices.
+     * @param src  Source vertex of every undirected edge.
+     * @param dest Destination vertex of every undirected edge.
+     * @param wt   Weight of every edge.
+     * @param pool Pool running the parallel passes.
+     * @return The minimum spanning forest, with edges as indices into the input arrays.
+     */
+    public static ParallelKruskal.Result boruvka(int n, int[] src, int[] dest, int[] wt, ForkJoinPool pool) {
+        ParallelKruskal.checkEdges(n, src, dest, wt);
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("boruvka") : null;
+        ConcurrentDisjointSet sets = new ConcurrentDisjointSet(n);
+        int[] comp = new int[n];
+        AtomicLongArray cheapest = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) {
+            cheapest.set(v, NONE);
+        }
+
+        int[] live = new int[src.length];
+        for (int i = 0; i < live.length; i++) {
+            live[i] = i;
+        }
+        int liveCount = live.length;
+        int[] next = new int[live.length];
+        int[] blockKept = new int[blocks(liveCount)];
+
+        int[] chosen = new int[Math.max(n - 1, 0)];
+        int count = 0;
+        long total = 0;
+        int rounds = 0;
+        while (liveCount > 0 && count < chosen.length) {
+            rounds++;
+            pool.invoke(new RangeTask(0, n, BLOCK, (lo, hi) -> {
+                for (int v = lo; v < hi; v++) {
+                    comp[v] = sets.find(v);
+                }
+            }));
+
+            // Cheapest outgoing edge per component; internal edges are marked -1
+            final int[] edges = live;
+            final int m = liveCount;
+            pool.invoke(new RangeTask(0, blocks(m), 1, (lo, hi) -> {
+                for (int b = lo; b < hi; b++) {
+                    int kept = 0;
+                    for (int i = b * BLOCK, end = Math.min(m, i + BLOCK); i < end; i++) {
+                        int e = edges[i];
+                        int a = comp[src[e]], c = comp[dest[e]];
+                        if (a == c) {
+                            edges[i] = -1;
+                            continue;
+                        }
+                        long key = ParallelKruskal.key(wt[e], e);
+                        offer(cheapest, a, key);
+                        offer(cheapest, c, key);
+                        kept++;
+                    }
+                    blockKept[b] = kept;
+                }
+            }));
+
+            // Compact the surviving edges, block by block, into next[]
+            int kept = 0;
+            for (int b = 0, nb = blocks(m); b < nb; b++) {
+                int c = blockKept[b];
+                blockKept[b] = kept;
+                kept += c;
+            }
+            final int[] out = next;
+            pool.invoke(new RangeTask(0, blocks(m), 1, (lo, hi) -> {
+                for (int b = lo; b < hi; b++) {
+                    int o = blockKept[b];
+                    for (int i = b * BLOCK, end = Math.min(m, i + BLOCK); i < end; i++) {
+                        if (edges[i] >= 0) {
+                            out[o++] = edges[i];
+                        }
+                    }
+                }
+            }));
+            next = live;
+            live = out;
+            liveCount = kept;
+            if (kept == 0) {
+                break;
+            }
+
+            // Hook every component along its cheapest edge
+            pool.invoke(new RangeTask(0, n, BLOCK, (lo, hi) -> {
+                for (int r = lo; r < hi; r++) {
+                    long key = cheapest.get(r);
+                    if (key != NONE) {
+                        int e = (int) key;
+                        sets.union(src[e], dest[e]);
+                    }
+                }
+            }));
+
+            // Record each hooked edge once, at the lower of the two components choosing it
+            for (int r = 0; r < n; r++) {
+                long key = cheapest.get(r);
+                if (key == NONE) {
+                    continue;
+                }
+                int e = (int) key;
+                int other = (comp[src[e]] == r) ? comp[dest[e]] : comp[src[e]];
+                if (other > r || cheapest.get(other) != key) {
+                    chosen[count++] = e;
+                    total += wt[e];
+                }
+            }
+            pool.invoke(new RangeTask(0, n, BLOCK, (lo, hi) -> {
+                for (int r = lo; r < hi; r++) {
+                    cheapest.set(r, NONE);
+                }
+            }));
+        }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.PASSES, rounds);
+            run.end();
+        }
+        return new ParallelKruskal.Result(Arrays.copyOf(chosen, count), total, n - count);
+    }
+
+    // Lowers cheapest[c] to key if key is smaller
+    private static void offer(AtomicLongArray cheapest, int c, long key) {
+        long cur = cheapest.get(c);
+        while (key < cur && !cheapest.compareAndSet(c, cur, key)) {
+            cur = cheapest.get(c);
+        }
+    }
+
+    private static int blocks(int size) {
+        return (size + BLOCK - 1) / BLOCK;
+    }
+
+    public static void main(String[] args) {
+        // Graph from KruskalAlgorithm.createGraph
+        int[] src = {0, 0, 0, 1, 2};
+        int[] dest = {1, 2, 3, 3, 3};
+        int[] wt = {10, 15, 30, 40, 50};
+        ParallelKruskal.Result mst = boruvka(4, src, dest, wt);
+        System.out.println("Minimum Spanning Tree Cost: " + mst.totalWeight);
+        for (int e : mst.edges) {
+            System.out.println("  " + src[e] + " - " + dest[e] + " (" + wt[e] + ")");
+        }
+
+        // Heavy ties: the forest must not depend on the thread count
+        java.util.Random rnd = new java.util.Random(24);
+        int n = 200_000, m = 1_000_000;
+        int[] s = new int[m], d = new int[m], w = new int[m];
+        for (int i = 0; i < m; i++) {
+            s[i] = rnd.nextInt(n);
+            d[i] = rnd.nextInt(n);
+            w[i] = rnd.nextInt(16);
+        }
+        ParallelKruskal.Result reference = ParallelKruskal.kruskal(n, s, d, w);
+        int[] expected = reference.edges.clone();
+        Arrays.sort(expected);
+        for (int threads : new int[] {1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long t = System.nanoTime();
+            ParallelKruskal.Result r = boruvka(n, s, d, w, pool);
+            double ms = (System.nanoTime() - t) / 1e6;
+            int[] got = r.edges.clone();
+            Arrays.sort(got);
+            System.out.printf("%d thread(s): cost %d, %d trees, %.1f ms, same forest as Kruskal: %s%n",
+                    threads, r.totalWeight, r.components, ms, Arrays.equals(expected, got));
+            pool.shutdown();
+        }
+    }
+}
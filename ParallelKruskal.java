@@ -0,0 +1,234 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum spanning forest over packed primitive edge arrays.
+ *
+ * Edges are given as three parallel int arrays (src, dest, wt) and are never
+ * boxed. Ties are broken by edge index: edges are ordered by the 64-bit key
+ * (wt << 32 | index). This makes the result unique and the same for both
+ * algorithms below, whatever the thread count.
+ *
+ * - kruskal():       classic Kruskal, with the sort done by Arrays.parallelSort.
+ * - filterKruskal(): Filter-Kruskal. It partitions the edges around a pivot
+ *                    weight and solves the light half first. It then throws away
+ *                    (in parallel) every heavy edge whose endpoints are already
+ *                    connected, before sorting what is left. On dense graphs most
+ *                    heavy edges are discarded without ever being sorted.
+ *
+ * If the graph is disconnected, both return a minimum spanning forest
+ * (one tree per connected component).
+ *
+ * Time Complexity: O(E log E) for kruskal(); O(E + V log V log(E / V)) expected
+ * for filterKruskal() on random graphs.
+ */
+public class ParallelKruskal {
+    // Below this many edges, Filter-Kruskal just sorts and scans
+    static final int FILTER_THRESHOLD = 1 << 16;
+
+    // Result of an MST / MSF computation
+    public static class Result {
+        /** Indices (into the input arrays) of the chosen edges, in the order they were added. */
+        public final int[] edges;
+        /** Sum of the weights of the chosen edges. */
+        public final long totalWeight;
+        /** Number of trees in the forest (1 if the graph is connected). */
+        public final int components;
+
+        Result(int[] edges, long totalWeight, int components) {
+            this.edges = edges;
+            this.totalWeight = totalWeight;
+            this.components = components;
+        }
+
+        public boolean isSpanningTree() {
+            return components == 1;
+        }
+    }
+
+    /**
+     * Kruskal's algorithm with a parallel sort of packed (weight, index) keys.
+     *
+     * @param n   Number of vertices.
+     * @param src Source vertex of every undirected edge.
+     * @param dest Destination vertex of every undirected edge.
+     * @param wt  Weight of every edge.
+     * @return The minimum spanning forest.
+     */
+    public static Result kruskal(int n, int[] src, int[] dest, int[] wt) {
+        checkEdges(n, src, dest, wt);
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("kruskal", "sort") : null;
+        long[] keys = new long[src.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(wt[i], i);
+        }
+        Arrays.parallelSort(keys);
+
+        if (GraphMetrics.ENABLED) {
+            run.phase("scan");
+        }
+        State state = new State(n);
+        state.scan(keys, 0, keys.length, src, dest, wt);
+        if (GraphMetrics.ENABLED) {
+            state.uf.publishMetrics(run);
+            run.end();
+        }
+        return state.result();
+    }
+
+    /**
+     * Filter-Kruskal: same result as kruskal(), but heavy edges that would close a
+     * cycle are filtered out in parallel before they are sorted.
+     */
+    public static Result filterKruskal(int n, int[] src, int[] dest, int[] wt) {
+        checkEdges(n, src, dest, wt);
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("filterKruskal") : null;
+        int[] idx = new int[src.length];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = i;
+        }
+        State state = new State(n);
+        filter(state, idx, 0, idx.length, src, dest, wt, 0x9E3779B97F4A7C15L);
+        if (GraphMetrics.ENABLED) {
+            state.uf.publishMetrics(run);
+            run.end();
+        }
+        return state.result();
+    }
+
+    // Recursive step of Filter-Kruskal on idx[lo, hi)
+    private static void filter(State state, int[] idx, int lo, int hi, int[] src, int[] dest, int[] wt, long seed) {
+        if (state.done() || lo >= hi) {
+            return;
+        }
+        if (hi - lo <= FILTER_THRESHOLD) {
+            sortAndScan(state, idx, lo, hi, src, dest, wt);
+            return;
+        }
+
+        // Pivot: median key of a small pseudo-random sample
+        long[] sample = new long[31];
+        for (int i = 0; i < sample.length; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int e = idx[lo + (int) ((seed >>> 33) % (hi - lo))];
+            sample[i] = key(wt[e], e);
+        }
+        Arrays.sort(sample);
+        long pivot = sample[sample.length / 2];
+
+        // Partition: light edges (key <= pivot) to the front
+        int mid = lo;
+        for (int i = lo; i < hi; i++) {
+            int e = idx[i];
+            if (key(wt[e], e) <= pivot) {
+                idx[i] = idx[mid];
+                idx[mid++] = e;
+            }
+        }
+        if (mid == hi) {
+            sortAndScan(state, idx, lo, hi, src, dest, wt); // Degenerate split
+            return;
+        }
+
+        filter(state, idx, lo, mid, src, dest, wt, seed);
+        if (state.done()) {
+            return;
+        }
+
+        // Filter: drop heavy edges whose endpoints are already connected.
+        // The union-find is only read here, so the check runs in parallel.
+        UnionFind uf = state.uf;
+        boolean[] keep = new boolean[hi - mid];
+        final int base = mid;
+        IntStream.range(base, hi).parallel().forEach(i -> {
+            int e = idx[i];
+            keep[i - base] = uf.findReadOnly(src[e]) != uf.findReadOnly(dest[e]);
+        });
+        int out = mid;
+        for (int i = mid; i < hi; i++) {
+            if (keep[i - mid]) {
+                idx[out++] = idx[i];
+            }
+        }
+
+        filter(state, idx, mid, out, src, dest, wt, seed ^ hi);
+    }
+
+    // Sorts the edges idx[lo, hi) by key and runs the Kruskal scan over them
+    private static void sortAndScan(State state, int[] idx, int lo, int hi, int[] src, int[] dest, int[] wt) {
+        long[] keys = new long[hi - lo];
+        for (int i = lo; i < hi; i++) {
+            keys[i - lo] = key(wt[idx[i]], idx[i]);
+        }
+        Arrays.sort(keys);
+        state.scan(keys, 0, keys.length, src, dest, wt);
+    }
+
+    // Packs (weight, index) into a long whose natural order is by weight, then index
+    static long key(int weight, int index) {
+        return ((long) weight << 32) | index;
+    }
+
+    static void checkEdges(int n, int[] src, int[] dest, int[] wt) {
+        if (dest.length != src.length || wt.length != src.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        for (int i = 0; i < src.length; i++) {
+            if (src[i] < 0 || src[i] >= n || dest[i] < 0 || dest[i] >= n) {
+                throw new IllegalArgumentException("Edge " + i + " has a vertex out of range [0, " + n + ")");
+            }
+        }
+    }
+
+    // Growing forest: union-find plus the list of chosen edges
+    static class State {
+        final UnionFind uf;
+        final int[] chosen;
+        int count;
+        long total;
+
+        State(int n) {
+            uf = new UnionFind(n);
+            chosen = new int[Math.max(n - 1, 0)];
+        }
+
+        // A spanning tree has n-1 edges; nothing more can be added after that
+        boolean done() {
+            return count == chosen.length;
+        }
+
+        // Adds, in key order, every edge that joins two different trees
+        void scan(long[] keys, int from, int to, int[] src, int[] dest, int[] wt) {
+            for (int i = from; i < to && !done(); i++) {
+                int e = (int) keys[i];
+                if (uf.union(src[e], dest[e])) {
+                    chosen[count++] = e;
+                    total += wt[e];
+                }
+            }
+        }
+
+        Result result() {
+            return new Result(Arrays.copyOf(chosen, count), total, uf.sets());
+        }
+    }
+
+    public static void main(String[] args) {
+        // Graph from KruskalAlgorithm.createGraph
+        int v = 4;
+        int[] src = {0, 0, 0, 1, 2};
+        int[] dest = {1, 2, 3, 3, 3};
+        int[] wt = {10, 15, 30, 40, 50};
+
+        Result mst = kruskal(v, src, dest, wt);
+        System.out.println("Minimum Spanning Tree Cost: " + mst.totalWeight);
+        for (int e : mst.edges) {
+            System.out.println("  " + src[e] + " - " + dest[e] + " (" + wt[e] + ")");
+        }
+
+        // Vertex 4 and 5 form a second component: the result is a forest
+        Result forest = filterKruskal(6, new int[] {0, 0, 1, 4}, new int[] {1, 2, 2, 5}, new int[] {3, 1, 2, 7});
+        System.out.println("Minimum spanning forest cost: " + forest.totalWeight
+                + " (" + forest.components + " trees)");
+    }
+}
@@ -0,0 +1,358 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel strongly connected components (trim + forward-backward).
+ *
+ * Approach:
+ * - Trim: a vertex with no incoming or no outgoing edge (among the vertices
+ *   still left) is a component on its own. Removing it can expose more such
+ *   vertices, so this runs as a worklist. In dependency graphs this usually
+ *   removes most of the vertices.
+ * - Forward-backward: for a set of vertices S and a pivot p in S, let F be the
+ *   vertices of S reachable from p and B the vertices of S that reach p. Then
+ *   F ∩ B is p's component, and every other component lies entirely inside
+ *   F \ B, B \ F or S \ (F ∪ B). The three subsets are independent and are
+ *   solved in parallel on a ForkJoinPool.
+ * - Each reachability search is a level-synchronous BFS. Large frontiers are
+ *   expanded in parallel, and vertices are claimed with CAS on a shared
+ *   AtomicLongArray bitset.
+ * - Subsets smaller than SEQUENTIAL_THRESHOLD are finished with an iterative
+ *   Tarjan restricted to the subset.
+ *
+ * The components are the same as TarjanSCC.components; only the ids differ.
+ *
+ * Time Complexity: O(V + E) for the trim, O((V + E) log V) expected for forward-backward.
+ */
+public class ParallelSCC {
+    static final int SEQUENTIAL_THRESHOLD = 4096;
+    static final int PARALLEL_FRONTIER = 2048; // Smaller frontiers are expanded by one thread
+    static final int FRONTIER_CHUNK = 1024;
+
+    public static TarjanSCC.Result components(CSRGraph graph) {
+        return components(graph, ForkJoinPool.commonPool());
+    }
+
+    public static TarjanSCC.Result components(CSRGraph graph, ForkJoinPool pool) {
+        return new ParallelSCC(graph).run(pool);
+    }
+
+    final CSRGraph out;
+    final CSRGraph in;
+    final int n;
+    final int[] comp;    // Component id, -1 while unassigned
+    final int[] color;   // Id of the subset a vertex currently belongs to (-1 once assigned)
+    final AtomicLongArray fwBits, bwBits;
+    final AtomicInteger nextComp = new AtomicInteger();
+    final AtomicInteger nextColor = new AtomicInteger(1);
+    // Tarjan scratch shared by all tasks; tasks own disjoint vertex sets
+    final int[] index, low, nextEdge;
+
+    ParallelSCC(CSRGraph graph) {
+        out = graph;
+        in = graph.transpose();
+        n = graph.vertexCount();
+        comp = new int[n];
+        color = new int[n];
+        fwBits = new AtomicLongArray((n + 63) >>> 6);
+        bwBits = new AtomicLongArray((n + 63) >>> 6);
+        index = new int[n];
+        low = new int[n];
+        nextEdge = new int[n];
+        Arrays.fill(comp, -1);
+    }
+
+    TarjanSCC.Result run(ForkJoinPool pool) {
+        int[] rest = trim();
+        if (rest.length > 0) {
+            pool.invoke(new Subset(rest, 0));
+        }
+        return new TarjanSCC.Result(comp, nextComp.get());
+    }
+
+    /**
+     * Repeatedly removes vertices with no in-edges or no out-edges among the
+     * remaining vertices, giving each its own component.
+     *
+     * @return The vertices that survived trimming.
+     */
+    int[] trim() {
+        int[] inDeg = new int[n], outDeg = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> {
+            inDeg[v] = in.degree(v);
+            outDeg[v] = out.degree(v);
+        });
+
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDeg[v] == 0 || outDeg[v] == 0) {
+                comp[v] = nextComp.getAndIncrement();
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int v = queue[head++];
+            // Removing v lowers the out-degree of its predecessors and the in-degree of its successors
+            for (int e = out.start(v), end = out.end(v); e < end; e++) {
+                int w = out.target(e);
+                if (comp[w] == -1 && --inDeg[w] == 0) {
+                    comp[w] = nextComp.getAndIncrement();
+                    queue[tail++] = w;
+                }
+            }
+            for (int e = in.start(v), end = in.end(v); e < end; e++) {
+                int w = in.target(e);
+                if (comp[w] == -1 && --outDeg[w] == 0) {
+                    comp[w] = nextComp.getAndIncrement();
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        int[] rest = new int[n - tail];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            if (comp[v] == -1) {
+                rest[k++] = v;
+            } else {
+                color[v] = -1;
+            }
+        }
+        return rest;
+    }
+
+    // Solves the SCCs inside one subset of vertices, all carrying the same color
+    class Subset extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int[] verts;
+        final int c;
+
+        Subset(int[] verts, int c) {
+            this.verts = verts;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (verts.length <= SEQUENTIAL_THRESHOLD) {
+                tarjanSubset(verts, c);
+                return;
+            }
+            int pivot = verts[0];
+            int fwCount = reach(pivot, c, out, fwBits);
+            int bwCount = reach(pivot, c, in, bwBits);
+
+            // Split into F ∩ B (pivot's component), F \ B, B \ F and the rest
+            int id = nextComp.getAndIncrement();
+            int[] fOnly = new int[fwCount], bOnly = new int[bwCount], rest = new int[verts.length];
+            int nf = 0, nb = 0, nr = 0;
+            for (int v : verts) {
+                boolean f = test(fwBits, v), b = test(bwBits, v);
+                if (f && b) {
+                    comp[v] = id;
+                    color[v] = -1;
+                } else if (f) {
+                    fOnly[nf++] = v;
+                } else if (b) {
+                    bOnly[nb++] = v;
+                } else {
+                    rest[nr++] = v;
+                }
+                if (f) {
+                    clear(fwBits, v);
+                }
+                if (b) {
+                    clear(bwBits, v);
+                }
+            }
+
+            Subset t1 = recolor(fOnly, nf), t2 = recolor(bOnly, nb), t3 = recolor(rest, nr);
+            invokeAll(t1, t2, t3);
+        }
+
+        // Gives the first 'size' vertices a fresh color and wraps them in a task
+        private Subset recolor(int[] vs, int size) {
+            int[] sub = Arrays.copyOf(vs, size);
+            int nc = nextColor.getAndIncrement();
+            for (int v : sub) {
+                color[v] = nc;
+            }
+            return new Subset(sub, nc);
+        }
+    }
+
+    /**
+     * Level-synchronous BFS from src over vertices of color c, marking them in bits.
+     *
+     * @return Number of vertices reached (including src).
+     */
+    int reach(int src, int c, CSRGraph g, AtomicLongArray bits) {
+        set(bits, src);
+        int[] frontier = {src};
+        int reached = 1;
+        while (frontier.length > 0) {
+            int[] next;
+            if (frontier.length < PARALLEL_FRONTIER) {
+                next = expand(frontier, 0, frontier.length, c, g, bits);
+            } else {
+                int[] f = frontier;
+                int chunks = (f.length + FRONTIER_CHUNK - 1) / FRONTIER_CHUNK;
+                int[][] parts = new int[chunks][];
+                IntStream.range(0, chunks).parallel().forEach(p ->
+                        parts[p] = expand(f, p * FRONTIER_CHUNK, Math.min(f.length, (p + 1) * FRONTIER_CHUNK), c, g, bits));
+                int total = 0;
+                for (int[] part : parts) {
+                    total += part.length;
+                }
+                next = new int[total];
+                int k = 0;
+                for (int[] part : parts) {
+                    System.arraycopy(part, 0, next, k, part.length);
+                    k += part.length;
+                }
+            }
+            reached += next.length;
+            frontier = next;
+        }
+        return reached;
+    }
+
+    // Expands frontier[lo, hi); a vertex joins the next level only if this thread claims its bit
+    int[] expand(int[] frontier, int lo, int hi, int c, CSRGraph g, AtomicLongArray bits) {
+        int[] buf = new int[16];
+        int size = 0;
+        for (int i = lo; i < hi; i++) {
+            int u = frontier[i];
+            for (int e = g.start(u), end = g.end(u); e < end; e++) {
+                int w = g.target(e);
+                if (color[w] == c && set(bits, w)) {
+                    if (size == buf.length) {
+                        buf = Arrays.copyOf(buf, size * 2);
+                    }
+                    buf[size++] = w;
+                }
+            }
+        }
+        return Arrays.copyOf(buf, size);
+    }
+
+    // Atomically sets bit v; returns true if this call changed it
+    static boolean set(AtomicLongArray bits, int v) {
+        int word = v >>> 6;
+        long mask = 1L << v;
+        while (true) {
+            long cur = bits.get(word);
+            if ((cur & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, cur, cur | mask)) {
+                return true;
+            }
+        }
+    }
+
+    static boolean test(AtomicLongArray bits, int v) {
+        return (bits.get(v >>> 6) & (1L << v)) != 0;
+    }
+
+    static void clear(AtomicLongArray bits, int v) {
+        int word = v >>> 6;
+        long mask = ~(1L << v);
+        long cur;
+        do {
+            cur = bits.get(word);
+        } while (!bits.compareAndSet(word, cur, cur & mask));
+    }
+
+    /**
+     * Iterative Tarjan restricted to vertices of color c (same scheme as
+     * TarjanSCC.run). The shared index/low/nextEdge arrays are safe to use
+     * because concurrent subsets never share vertices.
+     */
+    void tarjanSubset(int[] verts, int c) {
+        int size = verts.length;
+        int[] sccStack = new int[size];
+        int[] callStack = new int[size];
+        int counter = 0, sp = 0, cp = 0;
+        for (int v : verts) {
+            index[v] = 0;
+        }
+
+        for (int s : verts) {
+            if (index[s] != 0) {
+                continue;
+            }
+            index[s] = low[s] = ++counter;
+            sccStack[sp++] = s;
+            callStack[cp] = s;
+            nextEdge[s] = out.start(s);
+            cp++;
+
+            while (cp > 0) {
+                int v = callStack[cp - 1];
+                int e = nextEdge[v];
+                if (e < out.end(v)) {
+                    nextEdge[v] = e + 1;
+                    int w = out.target(e);
+                    if (color[w] != c) {
+                        continue; // Outside this subset (or already assigned)
+                    }
+                    if (index[w] == 0) {
+                        index[w] = low[w] = ++counter;
+                        sccStack[sp++] = w;
+                        callStack[cp++] = w;
+                        nextEdge[w] = out.start(w);
+                    } else if (comp[w] == -1 && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+
+                cp--;
+                if (low[v] == index[v]) {
+                    int id = nextComp.getAndIncrement();
+                    int w;
+                    do {
+                        w = sccStack[--sp];
+                        comp[w] = id;
+                    } while (w != v);
+                }
+                if (cp > 0) {
+                    int parent = callStack[cp - 1];
+                    if (low[v] < low[parent]) {
+                        low[parent] = low[v];
+                    }
+                }
+            }
+        }
+        for (int v : verts) {
+            color[v] = -1;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Graph from StronglyConnectedComponent.createGraph
+        CSRGraph graph = CSRGraph.fromEdges(5, new int[][] { {0, 2}, {0, 3}, {1, 0}, {2, 1}, {3, 4} });
+        TarjanSCC.Result res = components(graph);
+        System.out.println("Components: " + res.count);
+        System.out.println("Component ids: " + Arrays.toString(res.componentId));
+
+        // Random graph large enough to exercise forward-backward
+        int n = 200_000, m = 600_000;
+        java.util.Random rnd = new java.util.Random(7);
+        int[] src = new int[m], dest = new int[m];
+        for (int i = 0; i < m; i++) {
+            src[i] = rnd.nextInt(n);
+            dest[i] = rnd.nextInt(n);
+        }
+        CSRGraph big = CSRGraph.fromEdges(n, src, dest, null);
+        System.out.println("Random graph: " + components(big).count + " components (parallel), "
+                + TarjanSCC.components(big).count + " (sequential)");
+    }
+}
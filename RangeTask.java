@@ -0,0 +1,36 @@
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join pass over the indices [lo, hi): the range is split in halves down
+ * to leaves of at most grain indices, and the body runs once per leaf.
+ *
+ * Used by the parallel passes of ParallelBoruvka and DeltaStepping.
+ */
+public class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    // Work on one leaf [lo, hi)
+    public interface Body {
+        void run(int lo, int hi);
+    }
+
+    final int lo, hi, grain;
+    final Body body;
+
+    public RangeTask(int lo, int hi, int grain, Body body) {
+        this.lo = lo;
+        this.hi = hi;
+        this.grain = grain;
+        this.body = body;
+    }
+
+    @Override
+    protected void compute() {
+        if (hi - lo <= grain) {
+            body.run(lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new RangeTask(lo, mid, grain, body), new RangeTask(mid, hi, grain, body));
+    }
+}
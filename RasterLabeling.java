@@ -0,0 +1,291 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Connected-component labeling of a whole raster in one call: every maximal
+ * region of equal-colored pixels gets its own label.
+ *
+ * Pixel (x, y) lives at raster[y * width + x], and the label image uses the
+ * same layout.
+ *
+ * Approach:
+ * - The rows are split into bands, and each band is labeled in parallel with
+ *   the classic two-pass scheme. The first pass gives each pixel the label of
+ *   an already-visited equal neighbour (left and up, plus the two upper
+ *   diagonals for 8-connectivity), starts a new label when there is none,
+ *   and records label equivalences in a band-local union-find.
+ * - The band-local labels are laid out in one global label space (band
+ *   offsets by prefix sum). Only the first row of each band is then compared
+ *   with the last row of the band above, which merges regions that cross a
+ *   band border.
+ * - Unions always keep the smaller label as the root. Labels are created in
+ *   scan order, so each region's root is the label of its first pixel in scan
+ *   order. Final labels are therefore numbered by first pixel, whatever the
+ *   number of bands.
+ * - The second pass (parallel again) rewrites the label image and gathers
+ *   pixel counts and bounding boxes per band. The band results are then
+ *   combined per label.
+ *
+ * Time Complexity: O(W * H * α) work, with the per-band passes running in parallel.
+ */
+public class RasterLabeling {
+    static final int MIN_BAND_ROWS = 64;
+
+    // Labels and per-label statistics of a raster
+    public static class Result {
+        /** labels[y * width + x] = label of pixel (x, y), in [0, count). */
+        public final int[] labels;
+        /** Number of regions. */
+        public final int count;
+        /** Color of each region. */
+        public final int[] color;
+        /** Number of pixels of each region. */
+        public final int[] pixelCount;
+        /** Inclusive bounding box of each region. */
+        public final int[] minX, minY, maxX, maxY;
+
+        Result(int[] labels, int count) {
+            this.labels = labels;
+            this.count = count;
+            color = new int[count];
+            pixelCount = new int[count];
+            minX = new int[count];
+            minY = new int[count];
+            maxX = new int[count];
+            maxY = new int[count];
+            Arrays.fill(minX, Integer.MAX_VALUE);
+            Arrays.fill(minY, Integer.MAX_VALUE);
+            Arrays.fill(maxX, -1);
+            Arrays.fill(maxY, -1);
+        }
+    }
+
+    public static Result label(int[] raster, int width, int height, boolean eightConnected) {
+        int bands = Math.max(1, Math.min(height / MIN_BAND_ROWS,
+                Runtime.getRuntime().availableProcessors() * 4));
+        return label(raster, width, height, eightConnected, bands);
+    }
+
+    /**
+     * Labels the raster using the given number of row bands.
+     *
+     * @param raster         Pixel colors, row-major.
+     * @param width          Image width in pixels.
+     * @param height         Image height in pixels.
+     * @param eightConnected true for 8-connectivity (diagonals), false for 4.
+     * @param bands          Number of row bands to process in parallel (clamped to [1, height]).
+     * @return The label image together with per-label statistics.
+     */
+    public static Result label(int[] raster, int width, int height, boolean eightConnected, int bands) {
+        if (width <= 0 || height <= 0 || (long) width * height > raster.length) {
+            throw new IllegalArgumentException("Raster too small for " + width + " x " + height);
+        }
+        bands = Math.max(1, Math.min(bands, height));
+        int[] labels = new int[width * height];
+        Band[] parts = new Band[bands];
+        for (int b = 0; b < bands; b++) {
+            parts[b] = new Band((int) ((long) height * b / bands), (int) ((long) height * (b + 1) / bands));
+        }
+
+        // Pass 1: band-local provisional labels
+        IntStream.range(0, bands).parallel().forEach(b ->
+                parts[b].firstPass(raster, labels, width, eightConnected));
+
+        // Global label space: band b owns [offset[b], offset[b] + size)
+        int[] offset = new int[bands + 1];
+        for (int b = 0; b < bands; b++) {
+            offset[b + 1] = offset[b] + parts[b].size;
+        }
+        int total = offset[bands];
+        int[] parent = new int[total];
+        IntStream.range(0, bands).parallel().forEach(b -> {
+            Band band = parts[b];
+            for (int l = 0; l < band.size; l++) {
+                int r = find(band.parent, l);
+                band.parent[l] = r; // Fully compressed: pass 2 keys statistics by local root
+                parent[offset[b] + l] = offset[b] + r;
+            }
+        });
+
+        // Merge regions across each band border
+        for (int b = 1; b < bands; b++) {
+            int y = parts[b].rowStart;
+            int below = y * width, above = below - width;
+            for (int x = 0; x < width; x++) {
+                int c = raster[below + x];
+                int l = offset[b] + labels[below + x];
+                for (int dx = eightConnected ? -1 : 0; dx <= (eightConnected ? 1 : 0); dx++) {
+                    int nx = x + dx;
+                    if (nx >= 0 && nx < width && raster[above + nx] == c) {
+                        union(parent, l, offset[b - 1] + labels[above + nx]);
+                    }
+                }
+            }
+        }
+
+        // Final labels by increasing root, i.e. by first pixel in scan order
+        int[] finalLabel = new int[total];
+        int count = 0;
+        for (int l = 0; l < total; l++) {
+            int r = find(parent, l);
+            finalLabel[l] = (r == l) ? count++ : finalLabel[r]; // r <= l, so already numbered
+        }
+
+        // Pass 2: rewrite the label image and collect per-band statistics
+        IntStream.range(0, bands).parallel().forEach(b ->
+                parts[b].secondPass(raster, labels, width, finalLabel, offset[b]));
+
+        Result res = new Result(labels, count);
+        for (int b = 0; b < bands; b++) {
+            parts[b].mergeInto(res, finalLabel, offset[b]);
+        }
+        return res;
+    }
+
+    // One band of rows [rowStart, rowEnd) with its local union-find and statistics
+    static class Band {
+        final int rowStart, rowEnd;
+        int[] parent = new int[64];
+        int size;
+        int[] color, pixelCount, minX, minY, maxX, maxY;
+
+        Band(int rowStart, int rowEnd) {
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+        }
+
+        void firstPass(int[] raster, int[] labels, int width, boolean eightConnected) {
+            for (int y = rowStart; y < rowEnd; y++) {
+                int row = y * width;
+                boolean hasUp = y > rowStart; // Rows above the band are merged later
+                for (int x = 0; x < width; x++) {
+                    int i = row + x;
+                    int c = raster[i];
+                    int l = -1;
+                    if (x > 0 && raster[i - 1] == c) {
+                        l = labels[i - 1];
+                    }
+                    if (hasUp) {
+                        int up = i - width;
+                        if (raster[up] == c) {
+                            l = join(l, labels[up]);
+                        }
+                        if (eightConnected) {
+                            if (x > 0 && raster[up - 1] == c) {
+                                l = join(l, labels[up - 1]);
+                            }
+                            if (x + 1 < width && raster[up + 1] == c) {
+                                l = join(l, labels[up + 1]);
+                            }
+                        }
+                    }
+                    if (l < 0) {
+                        l = newLabel();
+                    }
+                    labels[i] = l;
+                }
+            }
+        }
+
+        // Label for a pixel whose current candidate is l and that also touches label other
+        private int join(int l, int other) {
+            if (l < 0) {
+                return other;
+            }
+            if (l != other) {
+                union(parent, l, other);
+            }
+            return l;
+        }
+
+        private int newLabel() {
+            if (size == parent.length) {
+                parent = Arrays.copyOf(parent, size * 2);
+            }
+            parent[size] = size;
+            return size++;
+        }
+
+        void secondPass(int[] raster, int[] labels, int width, int[] finalLabel, int offset) {
+            color = new int[size];
+            pixelCount = new int[size];
+            minX = new int[size];
+            minY = new int[size];
+            maxX = new int[size];
+            maxY = new int[size];
+            Arrays.fill(minX, Integer.MAX_VALUE);
+            Arrays.fill(minY, Integer.MAX_VALUE);
+            Arrays.fill(maxX, -1);
+            Arrays.fill(maxY, -1);
+            for (int y = rowStart; y < rowEnd; y++) {
+                int row = y * width;
+                for (int x = 0; x < width; x++) {
+                    int l = labels[row + x];
+                    // Statistics are keyed by the local root so that one slot covers the region
+                    int r = parent[l];
+                    labels[row + x] = finalLabel[offset + l];
+                    color[r] = raster[row + x];
+                    pixelCount[r]++;
+                    minX[r] = Math.min(minX[r], x);
+                    maxX[r] = Math.max(maxX[r], x);
+                    minY[r] = Math.min(minY[r], y);
+                    maxY[r] = Math.max(maxY[r], y);
+                }
+            }
+        }
+
+        void mergeInto(Result res, int[] finalLabel, int offset) {
+            for (int r = 0; r < size; r++) {
+                if (pixelCount[r] == 0) {
+                    continue; // Not a local root
+                }
+                int f = finalLabel[offset + r];
+                res.color[f] = color[r];
+                res.pixelCount[f] += pixelCount[r];
+                res.minX[f] = Math.min(res.minX[f], minX[r]);
+                res.maxX[f] = Math.max(res.maxX[f], maxX[r]);
+                res.minY[f] = Math.min(res.minY[f], minY[r]);
+                res.maxY[f] = Math.max(res.maxY[f], maxY[r]);
+            }
+            // Band scratch is no longer needed
+            parent = color = pixelCount = minX = minY = maxX = maxY = null;
+        }
+    }
+
+    // Find with path halving
+    static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    // Links the larger root under the smaller one
+    static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a), rb = find(parent, b);
+        if (ra < rb) {
+            parent[rb] = ra;
+        } else if (rb < ra) {
+            parent[ra] = rb;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Same image as FloodFillAlgorithm.main
+        int width = 3, height = 3;
+        int[] image = {
+            1, 1, 1,
+            1, 1, 0,
+            1, 0, 1
+        };
+        for (boolean eight : new boolean[] {false, true}) {
+            Result res = label(image, width, height, eight);
+            System.out.println((eight ? "8" : "4") + "-connected: " + res.count + " regions");
+            for (int l = 0; l < res.count; l++) {
+                System.out.println("  label " + l + ": color " + res.color[l] + ", " + res.pixelCount[l]
+                        + " pixels, box (" + res.minX[l] + ", " + res.minY[l] + ")-(" + res.maxX[l] + ", " + res.maxY[l] + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.Arrays;
+
+/**
+ * Iterative scanline (span) flood fill on a flat int[] raster.
+ *
+ * Pixel (x, y) lives at raster[offset + y * stride + x], so the raster can be a
+ * sub-rectangle of a larger buffer (stride >= width).
+ *
+ * Approach:
+ * - Work items are horizontal spans (y, xl, xr) to scan for pixels of the
+ *   original color, kept on an explicit primitive stack (three ints each).
+ *   There is no recursion, so regions of any size are safe.
+ * - Every maximal run of original-color pixels found in a span is recoloured
+ *   in one pass. Its column range, widened by one on each side for
+ *   8-connectivity, is pushed for the rows above and below.
+ * - A recoloured pixel no longer has the original color, so it marks itself
+ *   as visited. No visited matrix is needed, and filling with the color the
+ *   region already has is a no-op.
+ *
+ * The span scan runs over the small Pixels interface, so TiledRaster reuses
+ * it unchanged over its tile cache.
+ *
+ * Time Complexity: O(pixels in region + perimeter), each row segment is scanned
+ * a constant number of times.
+ */
+public class ScanlineFloodFill {
+
+    // Pixel store the fill runs over; only called with in-bounds coordinates
+    public interface Pixels {
+        int get(int x, int y);
+
+        // Sets pixels [from, to) of row y to color
+        void fillRow(int y, int from, int to, int color);
+    }
+
+    // Pixel (x, y) at raster[offset + y * stride + x]
+    static final class ArrayPixels implements Pixels {
+        final int[] raster;
+        final int offset, stride;
+
+        ArrayPixels(int[] raster, int offset, int stride) {
+            this.raster = raster;
+            this.offset = offset;
+            this.stride = stride;
+        }
+
+        @Override
+        public int get(int x, int y) {
+            return raster[offset + y * stride + x];
+        }
+
+        @Override
+        public void fillRow(int y, int from, int to, int color) {
+            int base = offset + y * stride;
+            Arrays.fill(raster, base + from, base + to, color);
+        }
+    }
+
+    /**
+     * Fills the region of (x, y) with newColor.
+     *
+     * @param raster        Pixel buffer.
+     * @param offset        Index of pixel (0, 0) in the buffer.
+     * @param width         Image width in pixels.
+     * @param height        Image height in pixels.
+     * @param stride        Distance between the starts of consecutive rows.
+     * @param x             Seed column.
+     * @param y             Seed row.
+     * @param newColor      Fill color.
+     * @param eightConnected true for 8-connectivity (diagonals), false for 4.
+     * @return Number of pixels recoloured.
+     */
+    public static long fill(int[] raster, int offset, int width, int height, int stride,
+                            int x, int y, int newColor, boolean eightConnected) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IllegalArgumentException("Seed (" + x + ", " + y + ") outside " + width + " x " + height);
+        }
+        if (stride < width || offset < 0 || offset + (long) (height - 1) * stride + width > raster.length) {
+            throw new IllegalArgumentException("Raster too small for " + width + " x " + height + " with stride " + stride);
+        }
+        return fill(new ArrayPixels(raster, offset, stride), width, height, x, y, newColor, eightConnected);
+    }
+
+    /**
+     * Scanline fill over any pixel store. The seed must lie inside the
+     * width x height image.
+     *
+     * @return Number of pixels recoloured.
+     */
+    public static long fill(Pixels pixels, int width, int height, int x, int y, int newColor, boolean eightConnected) {
+        int oldColor = pixels.get(x, y);
+        if (oldColor == newColor) {
+            return 0; // Nothing to do; also keeps the recoloured-means-visited invariant valid
+        }
+        int d = eightConnected ? 1 : 0;
+        long filled = 0;
+
+        int[] stack = new int[3 * 64];
+        int sp = 0;
+        stack[sp++] = y;
+        stack[sp++] = x;
+        stack[sp++] = x;
+
+        while (sp > 0) {
+            int xr = stack[--sp];
+            int xl = stack[--sp];
+            int row = stack[--sp];
+
+            int cx = xl;
+            while (cx <= xr) {
+                // Skip pixels that are not part of the region
+                if (pixels.get(cx, row) != oldColor) {
+                    cx++;
+                    continue;
+                }
+                // Start of a run: extend left past the scanned range if needed
+                int l = cx;
+                while (l > 0 && pixels.get(l - 1, row) == oldColor) {
+                    l--;
+                }
+                // Recolour the run, extending right past the scanned range if needed
+                int r = cx;
+                while (r < width && pixels.get(r, row) == oldColor) {
+                    r++;
+                }
+                pixels.fillRow(row, l, r, newColor);
+                filled += r - l;
+
+                // Neighbouring rows, widened by one column for diagonal neighbours
+                int nl = Math.max(0, l - d), nr = Math.min(width - 1, r - 1 + d);
+                if (sp + 6 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                if (row + 1 < height) {
+                    stack[sp++] = row + 1;
+                    stack[sp++] = nl;
+                    stack[sp++] = nr;
+                }
+                if (row > 0) {
+                    stack[sp++] = row - 1;
+                    stack[sp++] = nl;
+                    stack[sp++] = nr;
+                }
+                cx = r + 1;
+            }
+        }
+        return filled;
+    }
+
+    // Convenience overload for a tightly packed width x height raster
+    public static long fill(int[] raster, int width, int height, int x, int y, int newColor, boolean eightConnected) {
+        return fill(raster, 0, width, height, width, x, y, newColor, eightConnected);
+    }
+
+    public static void main(String[] args) {
+        // Same image as FloodFillAlgorithm.main, flattened row by row
+        int width = 3, height = 3;
+        int[] image = {
+            1, 1, 1,
+            1, 1, 0,
+            1, 0, 1
+        };
+        long filled = fill(image, width, height, 1, 1, 2, false);
+        System.out.println("4-connected fill recoloured " + filled + " pixels:");
+        print(image, width, height);
+
+        // With diagonals, the bottom-right 1 joins the region too
+        int[] image8 = {
+            1, 1, 1,
+            1, 1, 0,
+            1, 0, 1
+        };
+        fill(image8, width, height, 1, 1, 2, true);
+        System.out.println("8-connected fill:");
+        print(image8, width, height);
+    }
+
+    static void print(int[] raster, int width, int height) {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                System.out.print(raster[y * width + x] + " ");
+            }
+            System.out.println();
+        }
+    }
+}
@@ -32,6 +32,7 @@ public class ShortestPath {
     // Bellman-Ford Algorithm for Single-Source Shortest Paths
     // Time Complexity: O(VE), where V is the number of vertices and E is the number of edges
     public static void bellmanFord(ArrayList<Edge> graph, int src, int V) {
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("bellmanFord-lists") : null;
         // Step 1: Initialize distance array with infinity (except source vertex)
         int[] distance = new int[V];
         for (int i = 0; i < distance.length; i++) {
@@ -51,6 +52,11 @@ public class ShortestPath {
                 }
             }
         }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, (long) Math.max(V - 1, 0) * graph.size());
+            run.add(GraphMetrics.Counter.PASSES, Math.max(V - 1, 0));
+            run.end();
+        }
 
         // Step 3: Print the shortest distances
         System.out.println("Shortest distances from source vertex " + src + ":");
@@ -62,6 +68,61 @@ public class ShortestPath {
         }
     }
 
+    /**
+     * Bellman-Ford over a CSR graph. Distances are kept as long so that
+     * distance[u] + wt cannot overflow.
+     *
+     * @param graph Directed weighted graph in CSR form.
+     * @param src   Source vertex.
+     * @return Shortest distance to every vertex (Long.MAX_VALUE if unreachable).
+     */
+    public static long[] bellmanFord(CSRGraph graph, int src) {
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("bellmanFord") : null;
+        long relaxed = 0;
+        int V = graph.vertexCount();
+        long[] distance = new long[V];
+        for (int i = 0; i < V; i++) {
+            distance[i] = (i == src) ? 0 : Long.MAX_VALUE;
+        }
+
+        // Relax all edges V-1 times, walking each vertex's out-edge range
+        for (int i = 0; i < V - 1; i++) {
+            for (int u = 0; u < V; u++) {
+                if (distance[u] == Long.MAX_VALUE) {
+                    continue;
+                }
+                if (GraphMetrics.ENABLED) {
+                    relaxed += graph.degree(u);
+                }
+                for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                    int v = graph.target(e);
+                    long newDist = distance[u] + graph.weight(e);
+                    if (newDist < distance[v]) {
+                        distance[v] = newDist;
+                    }
+                }
+            }
+        }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, relaxed);
+            run.add(GraphMetrics.Counter.PASSES, Math.max(V - 1, 0));
+            run.end();
+        }
+        return distance;
+    }
+
+    // Prints a distance array, showing INF for unreachable vertices
+    public static void printDistances(long[] distance, int src) {
+        System.out.println("Shortest distances from source vertex " + src + ":");
+        for (int i = 0; i < distance.length; i++) {
+            if (distance[i] == Long.MAX_VALUE)
+                System.out.print("INF ");
+            else
+                System.out.print(distance[i] + " ");
+        }
+        System.out.println();
+    }
+
     public static void main(String[] args) {
         int v = 5; // Number of vertices
         ArrayList<Edge> graph = new ArrayList<>();
@@ -71,5 +132,15 @@ public class ShortestPath {
 
         // Running Bellman-Ford algorithm from source vertex 0
         bellmanFord(graph, 0, v);
+        System.out.println();
+
+        // Same graph in CSR form
+        int[] src = new int[graph.size()], dest = new int[graph.size()], wt = new int[graph.size()];
+        for (int i = 0; i < graph.size(); i++) {
+            src[i] = graph.get(i).src;
+            dest[i] = graph.get(i).dest;
+            wt[i] = graph.get(i).wt;
+        }
+        printDistances(bellmanFord(CSRGraph.fromEdges(v, src, dest, wt), 0), 0);
     }
 }
\ No newline at end of file
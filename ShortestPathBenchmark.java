@@ -0,0 +1,203 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Timing harness comparing the single-source shortest path implementations
+ * on seeded synthetic graphs.
+ *
+ * Graph families:
+ * - sparse:      random graph with ~4 edges per vertex, a few negative edges.
+ * - adversarial: 2D grid with weights shifted by random vertex potentials,
+ *                so about half the edges are negative (but no negative cycle).
+ *                Grids make label-correcting methods re-relax vertices many times.
+ * - road:        2D grid, weights 1..100 in both directions (non-negative).
+ * - random:      random graph with ~4 edges per vertex, weights 1..100.
+ *
+ * The non-negative families also compare sequential Dijkstra with
+ * delta-stepping at several deltas and thread counts.
+ *
+ * Usage: java ShortestPathBenchmark [vertices] [repetitions]
+ */
+public class ShortestPathBenchmark {
+
+    public static void main(String[] args) {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 4_000;
+        int reps = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+        run("sparse", sparseGraph(n, 4, 42L), reps);
+        run("adversarial", potentialGrid((int) Math.sqrt(n), 42L), reps);
+        runNonNegative("road", roadGrid((int) Math.sqrt(n), 42L), reps);
+        runNonNegative("random", randomGraph(n, 4, 42L), reps);
+    }
+
+    static void run(String name, CSRGraph graph, int reps) {
+        System.out.println("== " + name + ": " + graph.vertexCount() + " vertices, "
+                + graph.edgeCount() + " edges");
+
+        long[] expected = ShortestPath.bellmanFord(graph, 0);
+        ShortestPathFasterAlgorithm.Result spfa = ShortestPathFasterAlgorithm.spfa(graph, 0);
+        if (!Arrays.equals(expected, spfa.distance)) {
+            throw new IllegalStateException("SPFA disagrees with bellmanFord on " + name);
+        }
+        long relaxations = 0;
+        for (int c : spfa.relaxations) {
+            relaxations += c;
+        }
+        System.out.println("SPFA relaxations: " + relaxations);
+
+        time("bellmanFord (V-1 passes)", reps, () -> ShortestPath.bellmanFord(graph, 0));
+        time("bellmanFord (early exit)", reps, () -> ParallelBellmanFord.bellmanFord(graph, 0));
+        time("SPFA (FIFO)", reps, () -> ShortestPathFasterAlgorithm.spfa(graph, 0, false, false));
+        time("SPFA (SLF)", reps, () -> ShortestPathFasterAlgorithm.spfa(graph, 0, true, false));
+        time("SPFA (SLF + LLL)", reps, () -> ShortestPathFasterAlgorithm.spfa(graph, 0, true, true));
+    }
+
+    static void runNonNegative(String name, CSRGraph graph, int reps) {
+        System.out.println("== " + name + ": " + graph.vertexCount() + " vertices, "
+                + graph.edgeCount() + " edges");
+
+        long[] expected = DeltaStepping.dijkstra(graph, 0).distance;
+        int delta = DeltaStepping.defaultDelta(graph);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool common = ForkJoinPool.commonPool();
+        for (int d : new int[] {1, delta, 10 * delta}) {
+            if (!Arrays.equals(expected, DeltaStepping.shortestPaths(graph, 0, d, common).distance)) {
+                throw new IllegalStateException("Delta-stepping (delta " + d + ") disagrees with Dijkstra on " + name);
+            }
+        }
+        if (graph.vertexCount() <= 10_000) {
+            time("bellmanFord (V-1 passes)", reps, () -> ShortestPath.bellmanFord(graph, 0));
+        }
+        time("bellmanFord (early exit)", reps, () -> ParallelBellmanFord.bellmanFord(graph, 0));
+        time("dijkstra", reps, () -> DeltaStepping.dijkstra(graph, 0));
+        time("delta-stepping (delta 1)", reps, () -> DeltaStepping.shortestPaths(graph, 0, 1, common));
+        time("delta-stepping (delta " + delta + ")", reps, () -> DeltaStepping.shortestPaths(graph, 0, delta, common));
+        time("delta-stepping (delta " + 10 * delta + ")", reps,
+                () -> DeltaStepping.shortestPaths(graph, 0, 10 * delta, common));
+        time("delta-stepping (1 thread)", reps, () -> DeltaStepping.shortestPaths(graph, 0, delta, single));
+        single.shutdown();
+    }
+
+    // Runs the task once to warm up, then reports the mean time of 'reps' runs
+    static void time(String label, int reps, Runnable task) {
+        task.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < reps; i++) {
+            task.run();
+        }
+        double ms = (System.nanoTime() - start) / 1e6 / reps;
+        System.out.printf("%-28s %10.3f ms%n", label, ms);
+    }
+
+    /**
+     * Random directed graph with 'degree' out-edges per vertex plus a path
+     * 0 -> 1 -> ... -> n-1 so that everything is reachable. Weights are
+     * non-negative except for a few edges shifted by vertex potentials.
+     */
+    static CSRGraph sparseGraph(int n, int degree, long seed) {
+        Random rnd = new Random(seed);
+        long[] potential = new long[n];
+        for (int i = 0; i < n; i++) {
+            potential[i] = (rnd.nextInt(20) == 0) ? rnd.nextInt(50) : 0;
+        }
+        int m = n * degree + (n - 1);
+        int[] src = new int[m], dest = new int[m], wt = new int[m];
+        int k = 0;
+        for (int i = 0; i + 1 < n; i++, k++) {
+            src[k] = i;
+            dest[k] = i + 1;
+        }
+        for (; k < m; k++) {
+            src[k] = rnd.nextInt(n);
+            dest[k] = rnd.nextInt(n);
+        }
+        for (int i = 0; i < m; i++) {
+            // w(u,v) + p(u) - p(v) keeps every cycle weight non-negative
+            wt[i] = (int) (1 + rnd.nextInt(100) + potential[src[i]] - potential[dest[i]]);
+        }
+        return CSRGraph.fromEdges(n, src, dest, wt);
+    }
+
+    /**
+     * side x side grid with edges to the right and down (both directions),
+     * weights 1..100 shifted by random potentials in [0, 1000).
+     */
+    static CSRGraph potentialGrid(int side, long seed) {
+        Random rnd = new Random(seed);
+        int n = side * side;
+        int[] potential = new int[n];
+        for (int i = 0; i < n; i++) {
+            potential[i] = rnd.nextInt(1000);
+        }
+        int m = 4 * side * (side - 1);
+        int[] src = new int[m], dest = new int[m], wt = new int[m];
+        int k = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int u = r * side + c;
+                if (c + 1 < side) {
+                    k = addBoth(src, dest, k, u, u + 1);
+                }
+                if (r + 1 < side) {
+                    k = addBoth(src, dest, k, u, u + side);
+                }
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            wt[i] = 1 + rnd.nextInt(100) + potential[src[i]] - potential[dest[i]];
+        }
+        return CSRGraph.fromEdges(n, src, dest, wt);
+    }
+
+    // side x side grid with edges to the right and down (both directions), weights 1..100
+    static CSRGraph roadGrid(int side, long seed) {
+        Random rnd = new Random(seed);
+        int m = 4 * side * (side - 1);
+        int[] src = new int[m], dest = new int[m], wt = new int[m];
+        int k = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int u = r * side + c;
+                if (c + 1 < side) {
+                    k = addBoth(src, dest, k, u, u + 1);
+                }
+                if (r + 1 < side) {
+                    k = addBoth(src, dest, k, u, u + side);
+                }
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            wt[i] = 1 + rnd.nextInt(100);
+        }
+        return CSRGraph.fromEdges(side * side, src, dest, wt);
+    }
+
+    // Same shape as sparseGraph, with weights 1..100 and no potentials
+    static CSRGraph randomGraph(int n, int degree, long seed) {
+        Random rnd = new Random(seed);
+        int m = n * degree + (n - 1);
+        int[] src = new int[m], dest = new int[m], wt = new int[m];
+        int k = 0;
+        for (int i = 0; i + 1 < n; i++, k++) {
+            src[k] = i;
+            dest[k] = i + 1;
+        }
+        for (; k < m; k++) {
+            src[k] = rnd.nextInt(n);
+            dest[k] = rnd.nextInt(n);
+        }
+        for (int i = 0; i < m; i++) {
+            wt[i] = 1 + rnd.nextInt(100);
+        }
+        return CSRGraph.fromEdges(n, src, dest, wt);
+    }
+
+    private static int addBoth(int[] src, int[] dest, int k, int u, int v) {
+        src[k] = u;
+        dest[k++] = v;
+        src[k] = v;
+        dest[k++] = u;
+        return k;
+    }
+}
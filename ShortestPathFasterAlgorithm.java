@@ -0,0 +1,169 @@
+import java.util.Arrays;
+
+/**
+ * Queue-based Bellman-Ford (SPFA) for single-source shortest paths.
+ *
+ * Approach:
+ * - Only vertices whose distance just improved are put in the queue, so edges
+ *   out of settled vertices are not re-scanned pass after pass.
+ * - The queue is a primitive ring buffer of size V; an in-queue bitset ensures
+ *   a vertex is never queued twice, so the buffer cannot overflow.
+ * - SLF (small label first): a vertex whose distance is smaller than the one at
+ *   the front is pushed to the front instead of the back.
+ * - LLL (large label last): a front vertex whose distance is above the queue
+ *   average is rotated to the back before being processed.
+ * - Every improvement of dist[v] is counted. The number of edges on v's current
+ *   shortest path is tracked too; once it reaches V the path repeats a vertex,
+ *   which can only happen through a negative cycle. (The raw relaxation count is
+ *   not a safe test here: under SLF a vertex may be improved more than V times
+ *   without any negative cycle.)
+ *
+ * Time Complexity: O(V * E) worst case, typically close to O(E) on sparse graphs
+ * with few negative edges.
+ */
+public class ShortestPathFasterAlgorithm {
+
+    // Result of an SPFA run
+    public static class Result {
+        /** Shortest distance to every vertex: Long.MAX_VALUE if unreachable,
+         *  Long.MIN_VALUE if reachable through a negative cycle. */
+        public final long[] distance;
+        /** Predecessor of every vertex on its shortest path (-1 for the source / unreachable). */
+        public final int[] predecessor;
+        /** Vertices of one negative cycle in path order, or null if there is none. */
+        public final int[] negativeCycle;
+        /** Number of times each vertex's distance was improved. */
+        public final int[] relaxations;
+
+        Result(long[] distance, int[] predecessor, int[] negativeCycle, int[] relaxations) {
+            this.distance = distance;
+            this.predecessor = predecessor;
+            this.negativeCycle = negativeCycle;
+            this.relaxations = relaxations;
+        }
+
+        public boolean hasNegativeCycle() {
+            return negativeCycle != null;
+        }
+    }
+
+    /**
+     * Runs SPFA from src with both SLF and LLL enabled.
+     */
+    public static Result spfa(CSRGraph graph, int src) {
+        return spfa(graph, src, true, true);
+    }
+
+    /**
+     * Runs SPFA from src.
+     *
+     * @param graph Directed weighted graph.
+     * @param src   Source vertex.
+     * @param slf   Enable the small-label-first heuristic.
+     * @param lll   Enable the large-label-last heuristic.
+     * @return Distances, predecessors, per-vertex relaxation counts and any negative cycle.
+     */
+    public static Result spfa(CSRGraph graph, int src, boolean slf, boolean lll) {
+        int V = graph.vertexCount();
+        if (src < 0 || src >= V) {
+            throw new IllegalArgumentException("Source " + src + " out of range [0, " + V + ")");
+        }
+        long[] distance = new long[V];
+        int[] pred = new int[V];
+        int[] pathLen = new int[V];   // Edges on the current shortest path to v
+        int[] relaxCount = new int[V];
+        long[] inQueue = new long[(V + 63) >>> 6];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        Arrays.fill(pred, -1);
+        distance[src] = 0;
+
+        // Ring buffer deque: head is the front slot, size entries follow it
+        int[] ring = new int[V];
+        int head = 0, size = 0;
+        double sum = 0; // Sum of queued distances, for LLL
+
+        ring[0] = src;
+        size = 1;
+        inQueue[src >>> 6] |= 1L << src;
+
+        while (size > 0) {
+            // LLL: rotate large labels to the back (at most one full rotation)
+            if (lll && size > 1) {
+                double avg = sum / size;
+                for (int r = 0; r < size && distance[ring[head]] > avg; r++) {
+                    int moved = ring[head];
+                    head = (head + 1 == V) ? 0 : head + 1;
+                    int tail = head + size - 1;
+                    ring[tail >= V ? tail - V : tail] = moved;
+                }
+            }
+
+            int u = ring[head];
+            head = (head + 1 == V) ? 0 : head + 1;
+            size--;
+            inQueue[u >>> 6] &= ~(1L << u);
+            long du = distance[u];
+            sum -= du;
+
+            for (int e = graph.start(u), end = graph.end(u); e < end; e++) {
+                int v = graph.target(e);
+                long newDist = du + graph.weight(e);
+                if (newDist >= distance[v]) {
+                    continue;
+                }
+                boolean queued = (inQueue[v >>> 6] & (1L << v)) != 0;
+                if (queued) {
+                    sum += newDist - distance[v];
+                }
+                distance[v] = newDist;
+                pred[v] = u;
+                relaxCount[v]++;
+                pathLen[v] = pathLen[u] + 1;
+
+                if (pathLen[v] >= V) {
+                    return negativeCycleResult(graph, src, relaxCount);
+                }
+
+                if (!queued) {
+                    inQueue[v >>> 6] |= 1L << v;
+                    sum += newDist;
+                    if (slf && size > 0 && newDist < distance[ring[head]]) {
+                        head = (head == 0) ? V - 1 : head - 1; // Push front
+                        ring[head] = v;
+                    } else {
+                        int tail = head + size;
+                        ring[tail >= V ? tail - V : tail] = v; // Push back
+                    }
+                    size++;
+                }
+            }
+        }
+        return new Result(distance, pred, null, relaxCount);
+    }
+
+    /**
+     * Builds the result once a path with V edges proves a negative cycle exists.
+     * SPFA's distances have not converged at this point, so they cannot tell which
+     * vertices are merely unsettled and which are reachable from a negative cycle;
+     * the final distances and the cycle witness come from Bellman-Ford instead.
+     */
+    private static Result negativeCycleResult(CSRGraph graph, int src, int[] relaxCount) {
+        ParallelBellmanFord.Result bf = ParallelBellmanFord.bellmanFord(graph, src);
+        return new Result(bf.distance, bf.predecessor, bf.negativeCycle, relaxCount);
+    }
+
+    public static void main(String[] args) {
+        // Graph from ShortestPath.createGraph2
+        CSRGraph graph = CSRGraph.fromEdges(5, new int[][] {
+            {0, 1, 2}, {0, 2, 4}, {1, 2, -4}, {2, 3, 2}, {3, 4, 4}, {4, 1, -1}
+        });
+        Result res = spfa(graph, 0);
+        System.out.println("SPFA distances: " + Arrays.toString(res.distance));
+        System.out.println("Relaxations per vertex: " + Arrays.toString(res.relaxations));
+
+        CSRGraph cyclic = CSRGraph.fromEdges(5, new int[][] {
+            {0, 1, 2}, {0, 2, 4}, {1, 2, -4}, {2, 3, 2}, {3, 4, 4}, {4, 1, -3}
+        });
+        System.out.println("Negative cycle: " + Arrays.toString(spfa(cyclic, 0).negativeCycle));
+    }
+}
@@ -50,6 +50,7 @@ public class StronglyConnectedComponent {
 
     // Kosaraju's algorithm to find and print SCCs
     public static void kosaraju(ArrayList<Edge>[] graph, int v) {
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("kosaraju-lists", "topSort") : null;
         Stack<Integer> s = new Stack<>();
         boolean[] visited = new boolean[v];
 
@@ -61,6 +62,10 @@ public class StronglyConnectedComponent {
         }
 
         // Step 2: Transpose (Reverse) the Graph
+        if (GraphMetrics.ENABLED) {
+            run.phase("transpose");
+        }
+        long edges = 0;
         ArrayList<Edge>[] transpose = new ArrayList[v];
         for (int i = 0; i < v; i++) {
             transpose[i] = new ArrayList<>();
@@ -69,9 +74,13 @@ public class StronglyConnectedComponent {
             for (Edge e : graph[i]) {
                 transpose[e.dest].add(new Edge(e.dest, e.src)); // Reverse the edge
             }
+            edges += graph[i].size();
         }
 
         // Step 3: Perform DFS on transposed graph to get SCCs
+        if (GraphMetrics.ENABLED) {
+            run.phase("collect");
+        }
         visited = new boolean[v]; // Reset visited array
         while (!s.isEmpty()) {
             int curr = s.pop(); // Get nodes in topological order
@@ -81,6 +90,74 @@ public class StronglyConnectedComponent {
                 System.out.println();
             }
         }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, 2 * edges); // One DFS per direction
+            run.add(GraphMetrics.Counter.PASSES, 2);
+            run.end();
+        }
+    }
+
+    // Step 1 over a CSR graph: push vertices onto a primitive stack in finishing order
+    public static int topSort(CSRGraph graph, int curr, boolean[] visited, int[] stack, int top) {
+        visited[curr] = true;
+        for (int e = graph.start(curr), end = graph.end(curr); e < end; e++) {
+            int dest = graph.target(e);
+            if (!visited[dest]) {
+                top = topSort(graph, dest, visited, stack, top);
+            }
+        }
+        stack[top++] = curr;
+        return top;
+    }
+
+    // Step 3 over a CSR graph: print every vertex reachable in the transpose
+    public static void DFS(CSRGraph graph, int curr, boolean[] visited) {
+        visited[curr] = true;
+        System.out.print(curr + " ");
+        for (int e = graph.start(curr), end = graph.end(curr); e < end; e++) {
+            int dest = graph.target(e);
+            if (!visited[dest]) {
+                DFS(graph, dest, visited);
+            }
+        }
+    }
+
+    // Kosaraju's algorithm over a CSR graph; the transpose comes from CSRGraph.transpose()
+    public static void kosaraju(CSRGraph graph) {
+        GraphMetrics.Run run = GraphMetrics.ENABLED ? GraphMetrics.start("kosaraju", "topSort") : null;
+        int v = graph.vertexCount();
+        int[] stack = new int[v];
+        int top = 0;
+        boolean[] visited = new boolean[v];
+
+        for (int i = 0; i < v; i++) {
+            if (!visited[i]) {
+                top = topSort(graph, i, visited, stack, top);
+            }
+        }
+
+        if (GraphMetrics.ENABLED) {
+            run.phase("transpose");
+        }
+        CSRGraph transpose = graph.transpose();
+
+        if (GraphMetrics.ENABLED) {
+            run.phase("collect");
+        }
+        visited = new boolean[v];
+        while (top > 0) {
+            int curr = stack[--top];
+            if (!visited[curr]) {
+                System.out.print("Strongly Connected Component -> ");
+                DFS(transpose, curr, visited);
+                System.out.println();
+            }
+        }
+        if (GraphMetrics.ENABLED) {
+            run.add(GraphMetrics.Counter.EDGES_RELAXED, 2L * graph.edgeCount()); // One DFS per direction
+            run.add(GraphMetrics.Counter.PASSES, 2);
+            run.end();
+        }
     }
 
     public static void main(String[] args) {
@@ -90,5 +167,8 @@ public class StronglyConnectedComponent {
         
         System.out.println("Finding Strongly Connected Components using Kosaraju's Algorithm:");
         kosaraju(graph, v);
+
+        System.out.println("Same graph in CSR form:");
+        kosaraju(CSRGraph.fromEdges(v, new int[][] { {0, 2}, {0, 3}, {1, 0}, {2, 1}, {3, 4} }));
     }
 }
\ No newline at end of file
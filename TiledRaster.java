@@ -0,0 +1,350 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An int raster stored on disk in square tiles, for images far larger than the heap.
+ *
+ * File layout (all values little-endian):
+ *   Header (32 bytes)
+ *     int   magic    = 0x52535452 ("RSTR")
+ *     int   version  = 1
+ *     int   width
+ *     int   height
+ *     int   tileSize (power of two)
+ *     int[3] reserved
+ *   Tiles in row-major tile order. Each tile is tileSize * tileSize ints,
+ *   stored row by row. Edge tiles are padded to full size.
+ *
+ * The pixel area is memory-mapped in 1 GB chunks that always hold whole
+ * tiles, mapping each chunk on first use. Pixels are accessed through an LRU
+ * cache of at most 'cacheTiles' tiles copied onto the heap. A tile is loaded
+ * only when a pixel in it is touched. When an evicted tile is dirty, it is
+ * copied back into the mapping, and flush() forces the mappings to disk. Heap
+ * use is therefore bounded by cacheTiles * tileSize^2 * 4 bytes, whatever
+ * the size of the image.
+ *
+ * floodFill is the scanline fill of ScanlineFloodFill, so it touches only
+ * the tiles the region (and its one-pixel border) actually covers.
+ *
+ * Not thread-safe.
+ */
+public class TiledRaster implements Closeable {
+    static final int MAGIC = 0x52535452;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int CHUNK_BYTES_SHIFT = 30;
+
+    private final FileChannel channel;
+    private final int width, height;
+    private final int tileShift, tileMask, tileInts;
+    private final int tilesX, tilesY;
+    private final int tilesPerChunk;
+    private final MappedByteBuffer[] mappings; // Mapped lazily
+    private final IntBuffer[] chunks;          // Int views of the mappings
+    private final LinkedHashMap<Integer, Tile> cache;
+
+    // Most recently used tile; skips the cache lookup while a scan stays in one tile
+    private Tile current;
+    private long tileLoads, tileWriteBacks;
+
+    // A cached tile; 'pixels' is a heap copy of the tile's region of the file
+    static class Tile {
+        final int index;
+        final int[] pixels;
+        boolean dirty;
+
+        Tile(int index, int[] pixels) {
+            this.index = index;
+            this.pixels = pixels;
+        }
+    }
+
+    private TiledRaster(FileChannel channel, int width, int height, int tileSize, int cacheTiles) {
+        if (cacheTiles < 1) {
+            throw new IllegalArgumentException("Tile cache must hold at least one tile");
+        }
+        this.channel = channel;
+        this.width = width;
+        this.height = height;
+        this.tileShift = Integer.numberOfTrailingZeros(tileSize);
+        this.tileMask = tileSize - 1;
+        this.tileInts = tileSize * tileSize;
+        this.tilesX = (width + tileMask) >>> tileShift;
+        this.tilesY = (height + tileMask) >>> tileShift;
+        this.tilesPerChunk = (1 << CHUNK_BYTES_SHIFT) / (tileInts * Integer.BYTES);
+        this.mappings = new MappedByteBuffer[(int) (((long) tilesX * tilesY + tilesPerChunk - 1) / tilesPerChunk)];
+        this.chunks = new IntBuffer[mappings.length];
+        this.cache = new LinkedHashMap<Integer, Tile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Tile> eldest) {
+                if (size() <= cacheTiles) {
+                    return false;
+                }
+                writeBack(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates a new raster file with all pixels 0. The file is extended
+     * without writing the pixel area, so on most file systems it starts out sparse.
+     *
+     * @param path       Destination file (created or truncated).
+     * @param width      Image width in pixels.
+     * @param height     Image height in pixels.
+     * @param tileSize   Tile edge length; a power of two between 16 and 4096.
+     * @param cacheTiles Maximum number of tiles held on the heap.
+     */
+    public static TiledRaster create(Path path, int width, int height, int tileSize, int cacheTiles) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid raster size " + width + " x " + height);
+        }
+        if (Integer.bitCount(tileSize) != 1 || tileSize < 16 || tileSize > 4096) {
+            throw new IllegalArgumentException("Tile size must be a power of two in [16, 4096]: " + tileSize);
+        }
+        long tiles = (long) ((width + tileSize - 1) / tileSize) * ((height + tileSize - 1) / tileSize);
+        if (tiles > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many tiles; use a larger tile size");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(width);
+            header.putInt(height);
+            header.putInt(tileSize);
+            header.position(HEADER_BYTES).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            // Writing the last byte sets the file length
+            long size = HEADER_BYTES + tiles * tileSize * tileSize * Integer.BYTES;
+            channel.write(ByteBuffer.allocate(1), size - 1);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new TiledRaster(channel, width, height, tileSize, cacheTiles);
+    }
+
+    /**
+     * Opens an existing raster file for reading and writing.
+     *
+     * @throws IOException If the file is truncated or not a supported raster file.
+     */
+    public static TiledRaster open(Path path, int cacheTiles) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Truncated raster file header: " + path);
+                }
+            }
+            header.flip();
+            int magic = header.getInt();
+            int version = header.getInt();
+            int width = header.getInt();
+            int height = header.getInt();
+            int tileSize = header.getInt();
+
+            if (magic != MAGIC) {
+                throw new IOException("Not a raster file (bad magic): " + path);
+            }
+            if (version != VERSION) {
+                throw new IOException("Unsupported raster file version " + version + ": " + path);
+            }
+            if (width <= 0 || height <= 0 || Integer.bitCount(tileSize) != 1 || tileSize < 16 || tileSize > 4096) {
+                throw new IOException("Corrupt raster file header: " + path);
+            }
+            long tiles = (long) ((width + tileSize - 1) / tileSize) * ((height + tileSize - 1) / tileSize);
+            long expected = HEADER_BYTES + tiles * tileSize * tileSize * Integer.BYTES;
+            if (channel.size() < expected) {
+                throw new IOException("Truncated raster file: expected " + expected
+                        + " bytes but found " + channel.size() + ": " + path);
+            }
+            return new TiledRaster(channel, width, height, tileSize, cacheTiles);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int tileSize() {
+        return tileMask + 1;
+    }
+
+    // Number of tiles read from the mapping so far
+    public long tileLoads() {
+        return tileLoads;
+    }
+
+    // Number of dirty tiles copied back to the mapping so far
+    public long tileWriteBacks() {
+        return tileWriteBacks;
+    }
+
+    public int get(int x, int y) {
+        checkBounds(x, y);
+        return tile(x, y).pixels[((y & tileMask) << tileShift) | (x & tileMask)];
+    }
+
+    public void set(int x, int y, int value) {
+        checkBounds(x, y);
+        Tile t = tile(x, y);
+        t.pixels[((y & tileMask) << tileShift) | (x & tileMask)] = value;
+        t.dirty = true;
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IndexOutOfBoundsException("Pixel (" + x + ", " + y + ") outside " + width + " x " + height);
+        }
+    }
+
+    // Tile holding pixel (x, y), loading it into the cache if needed
+    private Tile tile(int x, int y) {
+        int index = (y >>> tileShift) * tilesX + (x >>> tileShift);
+        if (current != null && current.index == index) {
+            return current;
+        }
+        Tile t = cache.get(index);
+        if (t == null) {
+            int[] pixels = new int[tileInts];
+            chunk(index).get(offsetInChunk(index), pixels);
+            tileLoads++;
+            t = new Tile(index, pixels);
+            cache.put(index, t); // May evict, but never the tile just inserted
+        }
+        current = t;
+        return t;
+    }
+
+    private void writeBack(Tile t) {
+        if (t.dirty) {
+            chunk(t.index).put(offsetInChunk(t.index), t.pixels);
+            t.dirty = false;
+            tileWriteBacks++;
+        }
+    }
+
+    private int offsetInChunk(int index) {
+        return (index % tilesPerChunk) * tileInts;
+    }
+
+    // Mapping of the chunk holding tile 'index'
+    private IntBuffer chunk(int index) {
+        int c = index / tilesPerChunk;
+        if (chunks[c] == null) {
+            long tiles = Math.min(tilesPerChunk, (long) tilesX * tilesY - (long) c * tilesPerChunk);
+            long position = HEADER_BYTES + ((long) c << CHUNK_BYTES_SHIFT);
+            try {
+                mappings[c] = channel.map(FileChannel.MapMode.READ_WRITE, position, tiles * tileInts * Integer.BYTES);
+                chunks[c] = mappings[c].order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return chunks[c];
+    }
+
+    // Writes every dirty cached tile back and forces the mappings to disk
+    public void flush() {
+        for (Tile t : cache.values()) {
+            writeBack(t);
+        }
+        for (MappedByteBuffer mapping : mappings) {
+            if (mapping != null) {
+                mapping.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        cache.clear();
+        current = null;
+        channel.close();
+    }
+
+    /**
+     * Scanline flood fill (see ScanlineFloodFill) over the tiled raster.
+     *
+     * @return Number of pixels recoloured.
+     */
+    public long floodFill(int x, int y, int newColor, boolean eightConnected) {
+        checkBounds(x, y);
+        return ScanlineFloodFill.fill(new ScanlineFloodFill.Pixels() {
+            @Override
+            public int get(int px, int py) {
+                return tile(px, py).pixels[((py & tileMask) << tileShift) | (px & tileMask)];
+            }
+
+            @Override
+            public void fillRow(int py, int from, int to, int color) {
+                TiledRaster.this.fillRow(py, from, to, color);
+            }
+        }, width, height, x, y, newColor, eightConnected);
+    }
+
+    // Sets pixels [from, to) of one row, one Arrays.fill per tile
+    private void fillRow(int y, int from, int to, int value) {
+        int rowBase = (y & tileMask) << tileShift;
+        while (from < to) {
+            Tile t = tile(from, y);
+            int end = Math.min(to, ((from >>> tileShift) + 1) << tileShift);
+            Arrays.fill(t.pixels, rowBase + (from & tileMask), rowBase + ((end - 1) & tileMask) + 1, value);
+            t.dirty = true;
+            from = end;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("raster", ".rstr");
+        int side = 8192, tile = 256;
+        try (TiledRaster raster = create(file, side, side, tile, 64)) {
+            // A closed 1000 x 1000 square outline of color 1 near the top-left corner
+            for (int i = 100; i <= 1100; i++) {
+                raster.set(i, 100, 1);
+                raster.set(i, 1100, 1);
+                raster.set(100, i, 1);
+                raster.set(1100, i, 1);
+            }
+            long before = raster.tileLoads();
+            long filled = raster.floodFill(500, 500, 2, false);
+            int total = (side / tile) * (side / tile);
+            System.out.println("Filled " + filled + " pixels inside the square, loading "
+                    + (raster.tileLoads() - before) + " of " + total + " tiles");
+        }
+        try (TiledRaster raster = open(file, 4)) {
+            System.out.println("Reopened: pixel (500, 500) = " + raster.get(500, 500)
+                    + ", pixel (2000, 2000) = " + raster.get(2000, 2000));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
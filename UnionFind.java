@@ -0,0 +1,102 @@
+/**
+ * Single-threaded, instance-based union-find over the elements 0..n-1.
+ *
+ * Same idea as DisjointSet (union by rank, path compression), but every
+ * instance owns its arrays and find() is iterative, so long parent chains
+ * cannot overflow the stack. Path halving is used as the compression step:
+ * each visited node is pointed at its grandparent in a single pass.
+ *
+ * For concurrent use see ConcurrentDisjointSet.
+ *
+ * With GraphMetrics enabled, find and union count into plain fields, and the
+ * algorithm owning the instance hands them to its GraphMetrics.Run once per
+ * run with publishMetrics(run), so the shared counters are not touched per
+ * call.
+ *
+ * Time Complexity: O(alpha(n)) amortised per operation.
+ */
+public class UnionFind {
+    final int[] parent;
+    final byte[] rank; // Rank never exceeds log2(n) < 32
+    private int sets;  // Number of disjoint sets
+    private long findCalls, findSteps, unionCalls; // Unpublished counts, only kept with GraphMetrics enabled
+
+    public UnionFind(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        sets = n;
+    }
+
+    public int size() {
+        return parent.length;
+    }
+
+    // Number of disjoint sets currently represented
+    public int sets() {
+        return sets;
+    }
+
+    // Finds the leader of x's set, halving the path on the way
+    public int find(int x) {
+        int steps = 0;
+        while (parent[x] != x) {
+            int gp = parent[parent[x]];
+            parent[x] = gp;
+            x = gp;
+            steps++;
+        }
+        if (GraphMetrics.ENABLED) {
+            findCalls++;
+            findSteps += steps;
+        }
+        return x;
+    }
+
+    /**
+     * Finds the leader of x's set without modifying the structure.
+     * Safe to call from several threads at once as long as nobody writes.
+     */
+    public int findReadOnly(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Merges the sets containing a and b (union by rank).
+     *
+     * @return true if a and b were in different sets.
+     */
+    public boolean union(int a, int b) {
+        if (GraphMetrics.ENABLED) {
+            unionCalls++;
+        }
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        sets--;
+        return true;
+    }
+
+    // Adds the find/union counts since the last call to run; call only inside "if (GraphMetrics.ENABLED)"
+    void publishMetrics(GraphMetrics.Run run) {
+        run.add(GraphMetrics.Counter.FIND_CALLS, findCalls);
+        run.add(GraphMetrics.Counter.FIND_STEPS, findSteps);
+        run.add(GraphMetrics.Counter.UNION_CALLS, unionCalls);
+        findCalls = findSteps = unionCalls = 0;
+    }
+}
@@ -0,0 +1,345 @@
+package bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * JMH port of BenchmarkSuite: one @Benchmark method per suite entry, over the
+ * same seeded workload families.
+ *
+ * JMH does not accept benchmarks in the default package, and the algorithms
+ * live there, so the operations are looked up by name through BenchmarkSuite's
+ * public bridge (names, prepare, quiet). A method matches the entry whose name
+ * equals it once dashes are dropped, ignoring case (kruskalUnionFind runs
+ * "kruskal-unionFind").
+ *
+ * Every method takes the one state class whose family and size @Params it can
+ * run on, so a plain run has no inapplicable trials:
+ * - Sparse: random, grid and powerlaw graphs, 10^3 to 10^6 vertices;
+ * - Medium: the same families up to 10^5 (cheapestFlightLegacy, kosaraju);
+ * - Small:  up to 10^4 (bellmanFord, which always makes V - 1 passes);
+ * - Dense:  complete graphs, which the suite caps at COMPLETE_MAX = 2048
+ *           vertices (the adjacency-matrix connectCities entries);
+ * - Raster: grid rasters up to 10^6 pixels (flood fill and labeling).
+ * 10^7 is left out of the defaults: a random workload of that size holds 80M
+ * edges plus two CSR copies, several GB per fork. Sparse and Raster entries
+ * (except the recursive floodFill) run it with -p size=10000000 and a larger
+ * heap, e.g. -jvmArgs -Xmx16g.
+ *
+ * Each trial builds the workload once, outside the measurement. Forks run
+ * with a 1 GB thread stack, like the suite's runner thread, for the recursive
+ * kosaraju and floodFill.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss1g")
+public class GraphBenchmarks {
+
+    // Suite operation of the running benchmark method, with System.out muted for entries that print
+    static final class Operation {
+        private Supplier<?> supplier;
+        private PrintStream out; // Restored on release when the entry prints
+
+        void prepare(BenchmarkParams params, String family, int size) throws ReflectiveOperationException {
+            String benchmark = params.getBenchmark();
+            String method = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            Class<?> suite = Class.forName("BenchmarkSuite");
+
+            String name = null;
+            for (Object entry : (List<?>) suite.getMethod("names").invoke(null)) {
+                if (entry.toString().replace("-", "").equalsIgnoreCase(method)) {
+                    name = entry.toString();
+                }
+            }
+            if (name == null) {
+                throw new IllegalStateException("No BenchmarkSuite entry for " + method);
+            }
+            supplier = (Supplier<?>) suite.getMethod("prepare", String.class, String.class, int.class)
+                    .invoke(null, name, family, size);
+            if (supplier == null) {
+                throw new IllegalStateException(name + " does not apply to " + family + " at " + size + " vertices");
+            }
+            if ((Boolean) suite.getMethod("quiet", String.class).invoke(null, name)) {
+                out = System.out;
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            }
+        }
+
+        Object run() {
+            return supplier.get();
+        }
+
+        void release() {
+            if (out != null) {
+                System.setOut(out);
+                out = null;
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Sparse {
+        @Param({"random", "grid", "powerlaw"})
+        public String family;
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        final Operation op = new Operation();
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkParams params) throws ReflectiveOperationException {
+            op.prepare(params, family, size);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            op.release();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Medium {
+        @Param({"random", "grid", "powerlaw"})
+        public String family;
+
+        @Param({"1000", "10000", "100000"})
+        public int size;
+
+        final Operation op = new Operation();
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkParams params) throws ReflectiveOperationException {
+            op.prepare(params, family, size);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            op.release();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Small {
+        @Param({"random", "grid", "powerlaw"})
+        public String family;
+
+        @Param({"1000", "10000"})
+        public int size;
+
+        final Operation op = new Operation();
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkParams params) throws ReflectiveOperationException {
+            op.prepare(params, family, size);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            op.release();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Dense {
+        @Param({"1000", "2048"})
+        public int size;
+
+        final Operation op = new Operation();
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkParams params) throws ReflectiveOperationException {
+            op.prepare(params, "complete", size);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            op.release();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Raster {
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        final Operation op = new Operation();
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkParams params) throws ReflectiveOperationException {
+            op.prepare(params, "grid", size);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            op.release();
+        }
+    }
+
+    // Shortest paths
+
+    @Benchmark
+    public Object cheapestFlight(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object cheapestFlightEngine(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object cheapestFlightLegacy(Medium s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object bellmanFord(Small s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object bellmanFordEarlyExit(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object spfa(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object dijkstra(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object deltaStepping(Sparse s) {
+        return s.op.run();
+    }
+
+    // Minimum spanning trees
+
+    @Benchmark
+    public Object kruskalUnionFind(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object kruskalFilter(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object boruvka(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object prims(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object primsIndexed(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object connectCities(Dense s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object connectCitiesAuto(Dense s) {
+        return s.op.run();
+    }
+
+    // Strongly connected components
+
+    @Benchmark
+    public Object kosaraju(Medium s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object tarjan(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object sccParallel(Sparse s) {
+        return s.op.run();
+    }
+
+    // Flood fill and labeling on grid rasters
+
+    @Benchmark
+    public Object floodFill(Raster s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object floodFillScanline(Raster s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object rasterLabeling(Raster s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object rasterLabeling8(Raster s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object rasterLabelingOneBand(Raster s) {
+        return s.op.run();
+    }
+
+    // Disjoint sets
+
+    @Benchmark
+    public Object disjointSetUnionFind(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object disjointSetConcurrent(Sparse s) {
+        return s.op.run();
+    }
+
+    // Edge list loading
+
+    @Benchmark
+    public Object edgeListLoadBinary(Sparse s) {
+        return s.op.run();
+    }
+
+    @Benchmark
+    public Object edgeListLoadCsv(Sparse s) {
+        return s.op.run();
+    }
+}